@@ -0,0 +1,121 @@
+package com.forleven.school.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.SchoolApplication;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+import com.forleven.school.specification.SchoolSpecification;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+/**
+ * Repository lookups with the production profile against H2 in server mode, by more threads than
+ * connections, for the pool size and the jdbc settings. The wait for a connection of each run
+ * (hikaricp.connections.acquire) is printed on tear down.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PooledSchoolContext {
+
+        @Param({"5", "10", "20"})
+        int poolSize;
+
+        @Param({"0", "64"})
+        int queryCacheSize;
+
+        Server server;
+
+        ConfigurableApplicationContext context;
+
+        SchoolRepository schoolRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            int port = freePort();
+            server = Server.createTcpServer("-tcpPort", String.valueOf(port)).start();
+
+            context = SpringApplication.run(SchoolApplication.class,
+                    "--spring.profiles.active=production",
+                    "--spring.datasource.url=jdbc:h2:tcp://localhost:" + port + "/mem:school;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                    "--spring.datasource.hikari.data-source-properties.QUERY_CACHE_SIZE=" + queryCacheSize,
+                    "--school.seed.enabled=true",
+                    "--school.seed.size=1000",
+                    "--server.port=0",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN");
+
+            schoolRepository = context.getBean(SchoolRepository.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            Timer acquire = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+
+            if (acquire != null) {
+                System.out.printf("%nhikaricp.connections.acquire (pool %d): count %d, mean %.1fus, max %.1fus%n",
+                        poolSize, acquire.count(), acquire.mean(TimeUnit.MICROSECONDS),
+                        acquire.max(TimeUnit.MICROSECONDS));
+            }
+
+            context.close();
+            server.stop();
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<School> findOneBySpecification(PooledSchoolContext context) {
+        return context.schoolRepository
+                .findOne(where(SchoolSpecification.withSchoolId(1L))
+                        .and(GeneralSpecification.hasStatusActive()));
+    }
+
+    @Benchmark
+    public Page<School> findAllPage(PooledSchoolContext context) {
+        return context.schoolRepository
+                .findAll(PageRequest.of(1, 20));
+    }
+}
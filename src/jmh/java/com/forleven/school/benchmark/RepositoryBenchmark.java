@@ -0,0 +1,52 @@
+package com.forleven.school.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+import com.forleven.school.specification.SchoolSpecification;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+/**
+ * Repository lookups against embedded H2, without the service cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Benchmark
+    public Optional<School> findOneBySpecification(SchoolContext context) {
+        return context.getBean(SchoolRepository.class)
+                .findOne(where(SchoolSpecification.withSchoolId(1L))
+                        .and(GeneralSpecification.hasStatusActive()));
+    }
+
+    @Benchmark
+    public Page<School> findAllPage(SchoolContext context) {
+        return context.getBean(SchoolRepository.class)
+                .findAll(PageRequest.of(1, 20));
+    }
+
+    @Benchmark
+    public Slice<School> findAllAfter(SchoolContext context) {
+        return context.getBean(SchoolRepository.class)
+                .findAllAfter(GeneralSpecification.hasStatusActive(), 20L, 20);
+    }
+}
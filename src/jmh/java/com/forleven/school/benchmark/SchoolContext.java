@@ -0,0 +1,38 @@
+package com.forleven.school.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.forleven.school.SchoolApplication;
+
+/**
+ * The school service running on embedded H2, shared by the benchmarks of a fork.
+ */
+@State(Scope.Benchmark)
+public class SchoolContext {
+
+    ConfigurableApplicationContext context;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(SchoolApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                // one client measuring the service, not its own budget (as the load test)
+                "--school.admission.rate-limit.enabled=false");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,97 @@
+package com.forleven.school.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Full MockMvc round trips (filters, controller, service, repository, serialization) of SchoolController.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchoolControllerBenchmark {
+
+    private static final String SCHOOL_BODY = "{\"name\": \"benchmark school\"}";
+
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp(SchoolContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup((WebApplicationContext) context.context)
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getSchools() throws Exception {
+        return mockMvc.perform(get("/school").param("page", "1").param("size", "20")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getSchoolsByCursor() throws Exception {
+        return mockMvc.perform(get("/school").param("cursor", "").param("size", "20")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getSchool() throws Exception {
+        return mockMvc.perform(get("/school/{schoolId}", 1L)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult saveSchool() throws Exception {
+        return mockMvc.perform(post("/school")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(SCHOOL_BODY))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateSchool() throws Exception {
+        return mockMvc.perform(put("/school/{schoolId}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(SCHOOL_BODY))
+                .andReturn();
+    }
+
+    @Benchmark
+    public MvcResult deleteSchool(SchoolToDelete schoolToDelete) throws Exception {
+        return mockMvc.perform(delete("/school/{schoolId}", schoolToDelete.schoolId)).andReturn();
+    }
+
+    @State(Scope.Thread)
+    public static class SchoolToDelete {
+
+        Long schoolId;
+
+        @Setup(Level.Invocation)
+        public void setUp(SchoolContext context) {
+            schoolId = context.getBean(SchoolRepository.class)
+                    .save(School.builder().name("school to delete").build())
+                    .getId();
+        }
+    }
+}
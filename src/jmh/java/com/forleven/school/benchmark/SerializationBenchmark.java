@@ -0,0 +1,66 @@
+package com.forleven.school.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.forleven.common.fn.Lambda;
+import com.forleven.school.model.School;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private School school;
+
+    private Object resources;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        school = School.builder().id(1L).name("1 school").build();
+
+        List<School> schools = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(i -> School.builder().id(i).name(i + " school").build())
+                .collect(Collectors.toList());
+
+        resources = Lambda.toResponse(new PageImpl<>(schools)).getBody();
+    }
+
+    @Benchmark
+    public byte[] school() throws Exception {
+        return objectMapper.writeValueAsBytes(school);
+    }
+
+    @Benchmark
+    public byte[] resourcesOfSchool() throws Exception {
+        return objectMapper.writeValueAsBytes(resources);
+    }
+}
@@ -0,0 +1,50 @@
+package com.forleven.school.benchmark;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.forleven.common.fn.Lambda;
+import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.model.School;
+import com.forleven.school.specification.SchoolSpecification;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private long schoolId = 1L;
+
+    private final Page<School> page = new PageImpl<>(
+            Collections.singletonList(School.builder().id(1L).name("1 school").build()));
+
+    @Benchmark
+    public Specification<School> getSchoolSpecification() {
+        return where(SchoolSpecification.withSchoolId(schoolId++))
+                .and(GeneralSpecification.hasStatusActive());
+    }
+
+    @Benchmark
+    public Optional<Page<School>> toOptionalSpec() {
+        return Lambda.toOptionalSpec(page);
+    }
+}
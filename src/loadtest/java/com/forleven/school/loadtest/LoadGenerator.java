@@ -0,0 +1,211 @@
+package com.forleven.school.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model load generator: requests are fired on a fixed schedule at the target rate, whatever the
+ * service latency, and every latency is measured from the instant the request was due. A slow service
+ * therefore shows up as queueing delay in the percentiles instead of silently lowering the offered load.
+ */
+@Slf4j
+class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int TIMEOUT_MILLIS = 10000;
+
+    // status recorded when the connection failed or timed out
+    private static final int NO_RESPONSE = -1;
+
+    private final LoadTestSettings settings;
+
+    private final String baseUrl;
+
+    private final long[] schoolIds;
+
+    private final Operation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadGenerator(LoadTestSettings settings, String baseUrl, long[] schoolIds) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.schoolIds = schoolIds;
+        this.operations = settings.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new OperationStats());
+        }
+    }
+
+    /**
+     * Runs warmup and measurement, returning the elapsed measurement time in nanoseconds.
+     */
+    long run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.getConcurrency());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRps();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        log.info("Offering {} rps for {}s (+{}s warmup) with {} workers",
+                settings.getRps(), settings.getDurationSeconds(), settings.getWarmupSeconds(),
+                settings.getConcurrency());
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = due >= measureFrom;
+            workers.execute(() -> call(pick(), due, measured));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(TIMEOUT_MILLIS * 2L, TimeUnit.MILLISECONDS)) {
+            log.warn("Requests still running after the test window, abandoning them");
+            workers.shutdownNow();
+        }
+
+        return end - measureFrom;
+    }
+
+    Map<Operation, OperationStats> getStats() {
+        return stats;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void call(Operation operation, long due, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long schoolId = schoolIds[random.nextInt(schoolIds.length)];
+        int page = random.nextInt(Math.max(1, schoolIds.length / Operation.LIST_PAGE_SIZE));
+
+        int status;
+        try {
+            status = send(operation.getMethod(), operation.path(schoolId, page),
+                    operation.body(sequence.incrementAndGet()));
+        } catch (IOException e) {
+            log.debug("{} failed", operation, e);
+            status = NO_RESPONSE;
+        }
+
+        if (measured) {
+            stats.get(operation).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due), status);
+        }
+    }
+
+    private int send(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setRequestProperty("Accept", "application/json");
+
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        // drain the body so the connection goes back to the keep-alive pool
+        try (InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            if (in != null) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) != -1) {
+                    // discard
+                }
+            }
+        }
+        return status;
+    }
+
+    static class OperationStats {
+
+        private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+        private final LongAdder errors = new LongAdder();
+
+        // shed by the admission control (429) and by the read fallback or a full pool (503), also errors
+        private final LongAdder rejected = new LongAdder();
+
+        private final LongAdder unavailable = new LongAdder();
+
+        void record(long micros, int status) {
+            latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (status == NO_RESPONSE || status >= 400) {
+                errors.increment();
+            }
+            if (status == 429) {
+                rejected.increment();
+            } else if (status == 503) {
+                unavailable.increment();
+            }
+        }
+
+        Histogram getLatencyMicros() {
+            return latencyMicros;
+        }
+
+        long getRequests() {
+            return latencyMicros.getTotalCount();
+        }
+
+        long getErrors() {
+            return errors.sum();
+        }
+
+        long getRejected() {
+            return rejected.sum();
+        }
+
+        long getUnavailable() {
+            return unavailable.sum();
+        }
+    }
+}
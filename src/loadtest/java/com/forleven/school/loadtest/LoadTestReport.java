@@ -0,0 +1,134 @@
+package com.forleven.school.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Machine-readable summary of a load test run, written as JSON so CI can diff it between builds.
+ */
+class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p95", "p99", "p999"};
+
+    private static final double MIN_THROUGHPUT_RATIO = 0.95;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final ObjectNode root = objectMapper.createObjectNode();
+
+    private boolean sloMet;
+
+    LoadTestReport(LoadTestSettings settings, Map<Operation, LoadGenerator.OperationStats> stats,
+                   long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+
+        ObjectNode config = root.putObject("settings");
+        config.put("target_rps", settings.getRps());
+        config.put("duration_seconds", settings.getDurationSeconds());
+        config.put("warmup_seconds", settings.getWarmupSeconds());
+        config.put("seed_size", settings.getSeedSize());
+        config.put("concurrency", settings.getConcurrency());
+        ObjectNode mix = config.putObject("mix");
+        settings.getMix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+
+        Histogram overall = new Histogram(3);
+        long errors = 0;
+        long rejected = 0;
+        long unavailable = 0;
+
+        ObjectNode operations = root.putObject("operations");
+        for (Map.Entry<Operation, LoadGenerator.OperationStats> entry : stats.entrySet()) {
+            LoadGenerator.OperationStats operation = entry.getValue();
+            overall.add(operation.getLatencyMicros());
+            errors += operation.getErrors();
+            rejected += operation.getRejected();
+            unavailable += operation.getUnavailable();
+
+            ObjectNode node = operations.putObject(entry.getKey().key());
+            summarize(node, operation.getRequests(), operation.getErrors(), seconds, operation.getLatencyMicros());
+            shed(node, operation.getRejected(), operation.getUnavailable());
+        }
+
+        long requests = overall.getTotalCount();
+        double throughput = requests / seconds;
+        double errorRate = errorRate(requests, errors);
+        double p99 = toMillis(overall.getValueAtPercentile(99));
+
+        ObjectNode total = root.putObject("total");
+        summarize(total, requests, errors, seconds, overall);
+        shed(total, rejected, unavailable);
+
+        boolean latencyMet = p99 <= settings.getSloP99Millis();
+        boolean errorRateMet = errorRate <= settings.getSloErrorRate();
+        boolean throughputMet = throughput >= settings.getRps() * MIN_THROUGHPUT_RATIO;
+        sloMet = latencyMet && errorRateMet && throughputMet;
+
+        ObjectNode slo = root.putObject("slo");
+        slo.put("p99_ms", settings.getSloP99Millis());
+        slo.put("p99_met", latencyMet);
+        slo.put("error_rate", settings.getSloErrorRate());
+        slo.put("error_rate_met", errorRateMet);
+        slo.put("min_throughput_rps", settings.getRps() * MIN_THROUGHPUT_RATIO);
+        slo.put("throughput_met", throughputMet);
+        slo.put("passed", sloMet);
+    }
+
+    boolean isSloMet() {
+        return sloMet;
+    }
+
+    void writeTo(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        objectMapper.writeValue(file, root);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return objectMapper.writeValueAsString(root);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void summarize(ObjectNode node, long requests, long errors, double seconds, Histogram latency) {
+        node.put("requests", requests);
+        node.put("errors", errors);
+        node.put("error_rate", errorRate(requests, errors));
+        node.put("throughput_rps", requests / seconds);
+
+        ObjectNode latencyMillis = node.putObject("latency_ms");
+        latencyMillis.put("mean", latency.getTotalCount() == 0 ? 0 : latency.getMean() / 1000);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latencyMillis.put(PERCENTILE_KEYS[i], toMillis(latency.getValueAtPercentile(PERCENTILES[i])));
+        }
+        latencyMillis.put("max", toMillis(latency.getMaxValue()));
+    }
+
+    // part of the errors: requests shed instead of served slowly, a sign the service was over capacity
+    private static void shed(ObjectNode node, long rejected, long unavailable) {
+        node.put("rejected_429", rejected);
+        node.put("unavailable_503", unavailable);
+    }
+
+    private static double errorRate(long requests, long errors) {
+        return requests == 0 ? 0 : errors / (double) requests;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000d;
+    }
+}
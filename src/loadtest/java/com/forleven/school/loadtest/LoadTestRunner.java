@@ -0,0 +1,66 @@
+package com.forleven.school.loadtest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.forleven.school.SchoolApplication;
+import com.forleven.school.service.SchoolService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the school service on embedded H2 with {@code loadtest.seed-size} schools, drives the
+ * configured workload at it and writes the report to {@code loadtest.report}.
+ * <p>
+ * Exits with status 1 when the SLO is missed, unless {@code -Dloadtest.fail-on-slo=false}.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        // HttpURLConnection keeps only 5 idle connections per host by default
+        System.setProperty("http.maxConnections", String.valueOf(settings.getConcurrency()));
+
+        LoadTestReport report;
+        try (ConfigurableApplicationContext context = SpringApplication.run(SchoolApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.forleven.school.loadtest=INFO",
+                "--school.seed.size=" + settings.getSeedSize(),
+                // a single client measuring the capacity, not its own budget nor the adaptive limit
+                "--school.admission.rate-limit.enabled=false",
+                "--school.admission.concurrency.enabled=false")) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            List<Long> ids = new ArrayList<>(settings.getSeedSize());
+            context.getBean(SchoolService.class).exportSchools(school -> ids.add(school.getId()));
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("No schools seeded, set loadtest.seed-size above 0");
+            }
+            long[] schoolIds = ids.stream().mapToLong(Long::longValue).toArray();
+
+            LoadGenerator generator = new LoadGenerator(settings, baseUrl, schoolIds);
+            long elapsed = generator.run();
+
+            report = new LoadTestReport(settings, generator.getStats(), elapsed);
+        }
+
+        File file = new File(settings.getReport());
+        report.writeTo(file);
+        log.info("Load test report written to {}\n{}", file, report);
+
+        if (!report.isSloMet() && settings.isFailOnSlo()) {
+            log.error("SLO missed");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.forleven.school.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Load test knobs, read from {@code loadtest.*} system properties (see the {@code loadtest} profile).
+ */
+@Value
+class LoadTestSettings {
+
+    int rps;
+    int durationSeconds;
+    int warmupSeconds;
+    int seedSize;
+    int concurrency;
+    Map<Operation, Integer> mix;
+    double sloP99Millis;
+    double sloErrorRate;
+    String report;
+    boolean failOnSlo;
+
+    static LoadTestSettings fromSystemProperties() {
+        int rps = Integer.getInteger("loadtest.rps", 100);
+
+        return new LoadTestSettings(
+                rps,
+                Integer.getInteger("loadtest.duration", 30),
+                Integer.getInteger("loadtest.warmup", 5),
+                Integer.getInteger("loadtest.seed-size", 10000),
+                Integer.getInteger("loadtest.concurrency", Math.max(16, rps / 5)),
+                parseMix(System.getProperty("loadtest.mix", "read=70,list=20,create=5,update=5")),
+                Double.parseDouble(System.getProperty("loadtest.slo.p99-ms", "250")),
+                Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01")),
+                System.getProperty("loadtest.report", "target/loadtest-report.json"),
+                Boolean.parseBoolean(System.getProperty("loadtest.fail-on-slo", "true")));
+    }
+
+    /**
+     * Parses {@code read=70,list=20,...}; the weights don't need to add up to 100.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.of(pair[0]), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+}
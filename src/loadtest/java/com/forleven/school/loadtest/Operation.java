@@ -0,0 +1,56 @@
+package com.forleven.school.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The requests of the workload mix, each one a single HTTP call against {@code /school}.
+ */
+enum Operation {
+
+    READ("GET"),
+    LIST("GET"),
+    CREATE("POST"),
+    UPDATE("PUT");
+
+    static final int LIST_PAGE_SIZE = 20;
+
+    private final String method;
+
+    Operation(String method) {
+        this.method = method;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String path(long schoolId, int page) {
+        switch (this) {
+            case READ:
+            case UPDATE:
+                return "/school/" + schoolId;
+            case LIST:
+                return "/school?page=" + page + "&size=" + LIST_PAGE_SIZE;
+            default:
+                return "/school";
+        }
+    }
+
+    String body(long sequence) {
+        switch (this) {
+            case CREATE:
+            case UPDATE:
+                return "{\"name\":\"loadtest school " + sequence + "\"}";
+            default:
+                return null;
+        }
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Operation of(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,75 @@
+package com.forleven.school;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.form.SchoolForm;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+import com.forleven.school.service.SchoolService;
+
+/**
+ * Sample schools saved at startup, before the service is ready or, with {@code school.seed.deferred},
+ * in background once it is already taking requests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class SchoolSeeder implements CommandLineRunner {
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Value("${school.seed.size:41}")
+    private int seedSize;
+
+    @Value("${school.seed.deferred:false}")
+    private boolean deferred;
+
+    @Override
+    public void run(String... args) {
+        if (deferred) {
+            return;
+        }
+
+        List<School> initialSchoolsToSample = IntStream.rangeClosed(1, seedSize)
+                .mapToObj(i -> School.builder().name(i + " school").build())
+                .collect(Collectors.toList());
+
+        schoolRepository.saveAllInBatches(initialSchoolsToSample);
+    }
+
+    @EventListener
+    public void handleEvent(ApplicationReadyEvent applicationReadyEvent) {
+        if (!deferred) {
+            return;
+        }
+
+        List<SchoolForm> initialSchoolsToSample = IntStream.rangeClosed(1, seedSize)
+                .mapToObj(i -> SchoolForm.builder().name(i + " school").build())
+                .collect(Collectors.toList());
+
+        // by the service, the index was loaded on ready too and only catches up by the batch event.
+        // Own thread: the event executor is kept for the listeners, the seed would delay their events
+        Thread seeder = new Thread(() -> {
+            schoolService.saveSchools(initialSchoolsToSample);
+            log.info("{} sample schools seeded", seedSize);
+        }, "school-seeder");
+        seeder.setDaemon(true);
+        seeder.start();
+    }
+}
@@ -0,0 +1,114 @@
+package com.forleven.school.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.configuration.AdmissionControlProperties;
+
+/**
+ * Limit of requests in flight adjusted by AIMD: each request under the latency threshold adds 1/limit
+ * (about +1 by round of requests), a request over it multiplies the limit by the backoff ratio, once by
+ * backoff window. The limit is a double kept in an AtomicLong, updated by CAS.
+ */
+@Component
+@ConditionalOnProperty(value = "school.admission.concurrency.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimiter {
+
+    private final AdmissionControlProperties.Concurrency properties;
+
+    private final long latencyThresholdNanos;
+
+    private final long backoffWindowNanos;
+
+    private final AtomicLong limitBits;
+
+    private final AtomicLong lastCutNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(AdmissionControlProperties admissionControlProperties, MeterRegistry registry) {
+        this(admissionControlProperties.getConcurrency());
+
+        Gauge.builder("school.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .register(registry);
+        Gauge.builder("school.admission.inflight", inFlight, AtomicInteger::get)
+                .register(registry);
+    }
+
+    AdaptiveConcurrencyLimiter(AdmissionControlProperties.Concurrency properties) {
+        this.properties = properties;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getLatencyThresholdMs());
+        this.backoffWindowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBackoffWindowMs());
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(properties.getInitialLimit()));
+        this.lastCutNanos = new AtomicLong(System.nanoTime() - backoffWindowNanos);
+    }
+
+    /**
+     * Take a slot, false when the limit is reached. A true must be followed by {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back with the latency observed, failures count as slow (overload shows as errors too).
+     * A slow response inside the window of the last cut is ignored, the limit was already cut for that burst.
+     */
+    public void release(long latencyNanos, boolean success) {
+        inFlight.decrementAndGet();
+
+        boolean slow = !success || latencyNanos > latencyThresholdNanos;
+
+        if (slow) {
+            long now = System.nanoTime();
+            long lastCut = lastCutNanos.get();
+
+            if (now - lastCut < backoffWindowNanos || !lastCutNanos.compareAndSet(lastCut, now)) {
+                return;
+            }
+        }
+
+        limitBits.updateAndGet(bits -> {
+            double limit = Double.longBitsToDouble(bits);
+            double updated = slow ? limit * properties.getBackoffRatio() : limit + 1 / limit;
+
+            updated = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), updated));
+
+            return Double.doubleToLongBits(updated);
+        });
+    }
+
+    /**
+     * Give the slot back without a latency sample (e.g. the request went async).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,130 @@
+package com.forleven.school.admission;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import com.forleven.school.configuration.AdmissionControlProperties;
+
+/**
+ * Answer 429 Too Many Requests before the handler when the client is over its endpoint budget
+ * ({@link ClientRateLimiter}) or the service is over its concurrency limit ({@link AdaptiveConcurrencyLimiter}).
+ * Both are optional, without them every request passes.
+ */
+@Slf4j
+@Component
+public class AdmissionControlInterceptor extends HandlerInterceptorAdapter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final String STARTED_AT = AdmissionControlInterceptor.class.getName() + ".startedAt";
+
+    @Autowired(required = false)
+    private ClientRateLimiter clientRateLimiter;
+
+    @Autowired(required = false)
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Autowired
+    private AdmissionControlProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the dispatch of an async result was already admitted
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String endpoint = endpoint((HandlerMethod) handler);
+
+        if (clientRateLimiter != null) {
+            TokenBucket bucket = clientRateLimiter.bucket(clientId(request), endpoint);
+
+            if (!bucket.tryAcquire()) {
+                meterRegistry.counter("school.ratelimit.rejected", "endpoint", endpoint).increment();
+
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.waitNanos()));
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return false;
+            }
+        }
+
+        if (adaptiveConcurrencyLimiter != null) {
+            if (!adaptiveConcurrencyLimiter.tryAcquire()) {
+                meterRegistry.counter("school.admission.rejected", "endpoint", endpoint).increment();
+                log.debug("Concurrency limit {} reached, {} shed", adaptiveConcurrencyLimiter.getLimit(), endpoint);
+
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return false;
+            }
+            request.setAttribute(STARTED_AT, System.nanoTime());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // streamed or reactive responses: the slot is given back when the handler returns
+        if (request.getAttribute(STARTED_AT) != null) {
+            request.removeAttribute(STARTED_AT);
+            adaptiveConcurrencyLimiter.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+
+        Object startedAt = request.getAttribute(STARTED_AT);
+
+        if (startedAt == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+
+        // slow by design endpoints and 503 (fallback, bulkhead full) say nothing of the latency of the service
+        if (properties.getConcurrency().getUnsampledEndpoints().contains(endpoint((HandlerMethod) handler))
+                || response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            adaptiveConcurrencyLimiter.release();
+            return;
+        }
+
+        adaptiveConcurrencyLimiter.release(System.nanoTime() - (Long) startedAt,
+                ex == null && response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    // trusted as set by the gateway, see school.admission.rate-limit.enabled
+    private String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+
+        return StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr();
+    }
+
+    /**
+     * Controller method name in kebab case, the key of the budgets (getSchools -> get-schools).
+     */
+    static String endpoint(HandlerMethod handler) {
+        return handler.getMethod().getName().replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+    }
+}
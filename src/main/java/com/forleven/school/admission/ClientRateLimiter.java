@@ -0,0 +1,57 @@
+package com.forleven.school.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.configuration.AdmissionControlProperties;
+
+/**
+ * A {@link TokenBucket} by client and endpoint. The buckets are in a Caffeine cache (striped, the hit
+ * path doesn't lock), idle clients expire.
+ */
+@Component
+@ConditionalOnProperty(value = "school.admission.rate-limit.enabled", havingValue = "true")
+public class ClientRateLimiter {
+
+    private final AdmissionControlProperties.RateLimit properties;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    @Autowired
+    public ClientRateLimiter(AdmissionControlProperties admissionControlProperties, MeterRegistry registry) {
+        this.properties = admissionControlProperties.getRateLimit();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleMinutes(), TimeUnit.MINUTES)
+                .build();
+
+        Gauge.builder("school.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .register(registry);
+    }
+
+    /**
+     * The bucket of the client for the endpoint, the caller checks {@link TokenBucket#tryAcquire()}.
+     */
+    public TokenBucket bucket(String clientId, String endpoint) {
+        String key = clientId + '|' + endpoint;
+
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        AdmissionControlProperties.Budget budget = properties.getEndpoints()
+                .getOrDefault(endpoint, properties.getDefaultBudget());
+
+        return buckets.get(key, k -> new TokenBucket(budget.getRate(), budget.getBurst()));
+    }
+}
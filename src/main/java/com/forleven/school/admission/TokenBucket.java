@@ -0,0 +1,60 @@
+package com.forleven.school.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, as GCRA: instead of a token count it keeps the theoretical arrival time of
+ * the next request in a single AtomicLong, advanced by one emission interval by accepted request.
+ * A request is accepted while that time is less than burst intervals ahead of now.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System.nanoTime());
+    }
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+
+            if (next - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Nanoseconds until a request would be accepted, 0 when it would be now.
+     */
+    public long waitNanos() {
+        return waitNanos(System.nanoTime());
+    }
+
+    long waitNanos(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() + emissionIntervalNanos - burstToleranceNanos - nowNanos);
+    }
+}
@@ -0,0 +1,34 @@
+package com.forleven.school.aggregate;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@Value
+@JsonPropertyOrder({
+        "total",
+        "active",
+        "deleted",
+        "last_modified_at",
+        "reconciled_at"
+})
+public class SchoolAggregates {
+
+    private long total;
+
+    private long active;
+
+    @JsonProperty("last_modified_at")
+    private LocalDateTime lastModifiedAt;
+
+    // last time the counters were recounted from the table
+    @JsonProperty("reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    public long getDeleted() {
+        return total - active;
+    }
+}
@@ -0,0 +1,119 @@
+package com.forleven.school.aggregate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.common.event.CreationEvent;
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.event.SchoolsArchivedEvent;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+
+/**
+ * Total and active school counts kept in memory from the school events (after commit), so the lists
+ * don't need a COUNT query. They are recounted from the table when the service is ready and each
+ * school.counters.reconcile-interval, which fixes the drift of writes by other nodes (or by a write
+ * concurrent to the recount).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.counters.enabled", havingValue = "true", matchIfMissing = true)
+public class SchoolCounters {
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong active = new AtomicLong();
+
+    private final AtomicReference<LocalDateTime> lastModifiedAt = new AtomicReference<>();
+
+    // null until the first recount, the counts are unknown before it
+    private volatile LocalDateTime reconciledAt;
+
+    @EventListener
+    public void handleEvent(ApplicationReadyEvent applicationReadyEvent) {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${school.counters.reconcile-interval:300000}",
+            initialDelayString = "${school.counters.reconcile-interval:300000}")
+    public void reconcile() {
+        long totalCount = schoolRepository.count();
+        long activeCount = schoolRepository.count(GeneralSpecification.hasStatusActive());
+
+        long totalDrift = total.getAndSet(totalCount) - totalCount;
+        long activeDrift = active.getAndSet(activeCount) - activeCount;
+
+        if (reconciledAt != null && (totalDrift != 0 || activeDrift != 0)) {
+            log.info("School counters fixed by {} total and {} active", -totalDrift, -activeDrift);
+        }
+
+        reconciledAt = LocalDateTime.now();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(CreationEvent<School> schoolCreationEvent) {
+        total.incrementAndGet();
+        active.incrementAndGet();
+        modified();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SchoolBatchCreationEvent schoolBatchCreationEvent) {
+        int created = schoolBatchCreationEvent.getSchools().size();
+
+        total.addAndGet(created);
+        active.addAndGet(created);
+        modified();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(UpdatingEvent<School> schoolUpdatingEvent) {
+        modified();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SchoolDeletionEvent schoolDeletionEvent) {
+        active.decrementAndGet();
+        modified();
+    }
+
+    @EventListener
+    public void handleEvent(SchoolsArchivedEvent schoolsArchivedEvent) {
+        total.addAndGet(-schoolsArchivedEvent.getSchoolIds().size());
+    }
+
+    /**
+     * Count of all the schools (active and soft deleted), empty before the first recount.
+     */
+    public Optional<Long> getTotal() {
+        return reconciledAt == null ? Optional.empty() : Optional.of(total.get());
+    }
+
+    public Optional<SchoolAggregates> getAggregates() {
+        return reconciledAt == null
+                ? Optional.empty()
+                : Optional.of(new SchoolAggregates(total.get(), active.get(), lastModifiedAt.get(), reconciledAt));
+    }
+
+    private void modified() {
+        lastModifiedAt.set(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,88 @@
+package com.forleven.school.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.event.SchoolsArchivedEvent;
+import com.forleven.school.repository.SchoolRepository;
+
+/**
+ * Move the schools soft deleted for more than school.archive.retention-days to school_archive, so the
+ * school table holds (mostly) active schools. Each batch is its own short transaction, with a pause
+ * between batches and a bounded number of batches by run.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.archive.enabled", havingValue = "true")
+public class SchoolArchiver {
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${school.archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${school.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${school.archive.throttle-ms:200}")
+    private long throttleMillis;
+
+    @Value("${school.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${school.archive.interval:3600000}",
+            initialDelayString = "${school.archive.interval:3600000}")
+    public void archive() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minusDays(retentionDays);
+
+        int archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> schoolIds = schoolRepository.archiveDeleted(deletedBefore, batchSize);
+
+            if (schoolIds.isEmpty()) {
+                break;
+            }
+
+            archived += schoolIds.size();
+            meterRegistry.counter("school.archive.archived").increment(schoolIds.size());
+            publisher.publishEvent(new SchoolsArchivedEvent(schoolIds));
+
+            if (schoolIds.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("{} schools deleted before {} archived", archived, deletedBefore);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(throttleMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
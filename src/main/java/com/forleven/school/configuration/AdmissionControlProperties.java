@@ -0,0 +1,92 @@
+package com.forleven.school.configuration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("school.admission")
+public class AdmissionControlProperties {
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Token bucket by client (X-Client-Id header, or remote address) and endpoint. The header is
+         * trusted as is, enable only when a gateway sets it from the authenticated client.
+         */
+        private boolean enabled = false;
+
+        private Budget defaultBudget = new Budget();
+
+        /**
+         * Budgets by controller method name in kebab case (get-schools, save-school...),
+         * endpoints not listed use the default budget.
+         */
+        private Map<String, Budget> endpoints = new HashMap<>();
+
+        /**
+         * Buckets kept in memory, the least recently used clients are dropped after.
+         */
+        private long maxClients = 100000;
+
+        private long idleMinutes = 10;
+    }
+
+    @Data
+    public static class Budget {
+
+        /**
+         * Requests by second.
+         */
+        private double rate = 50;
+
+        /**
+         * Requests accepted at once above the rate.
+         */
+        private int burst = 100;
+    }
+
+    @Data
+    public static class Concurrency {
+
+        /**
+         * Cap the requests in flight (AIMD): the limit grows while the latency stays under the threshold
+         * and is cut by the backoff ratio when it doesn't. Requests over the limit get 429.
+         */
+        private boolean enabled = false;
+
+        private int initialLimit = 50;
+
+        private int minLimit = 5;
+
+        private int maxLimit = 200;
+
+        private long latencyThresholdMs = 250;
+
+        private double backoffRatio = 0.9;
+
+        /**
+         * At most one cut by window, the slow responses of a same burst count as one.
+         */
+        private long backoffWindowMs = 1000;
+
+        /**
+         * Endpoints (kebab case method names) slow by design, their latency is not sampled.
+         */
+        private Set<String> unsampledEndpoints =
+                new HashSet<>(Arrays.asList("save-schools", "search-schools", "export-schools"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.forleven.school.configuration;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary Jackson formats for the internal calls, negotiated by Accept / Content-Type on the same
+ * endpoints as JSON. Smile also writes each repeated field name (id_school...) of a list only once.
+ * <p>
+ * The mappers get the same customization (spring.jackson.*, modules) as the JSON one, the Spring
+ * defaults for these converters would not.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+
+        return new MappingJackson2CborHttpMessageConverter(customize(Jackson2ObjectMapperBuilder.cbor(), customizers)
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+
+        return new MappingJackson2SmileHttpMessageConverter(customize(Jackson2ObjectMapperBuilder.smile(), customizers)
+                .build());
+    }
+
+    private Jackson2ObjectMapperBuilder customize(Jackson2ObjectMapperBuilder builder,
+                                                  List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+
+        customizers.forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
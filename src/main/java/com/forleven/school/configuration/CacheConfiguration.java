@@ -0,0 +1,12 @@
+package com.forleven.school.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    // size, ttl and stats recording of this cache are in application.yml (spring.cache.caffeine.spec)
+    public static final String SCHOOL_CACHE = "schools";
+}
@@ -0,0 +1,63 @@
+package com.forleven.school.configuration;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Hikari pool metrics: hikaricp.connections.acquire (wait for a connection), .usage (time held, a leak shows
+ * in its max), .timeout, and the active, idle and pending connections gauges.
+ * <p>
+ * Set on the pool as it is created, before the DataSource proxy wraps it and before Flyway starts the
+ * pool, after which spring boot can't bind them anymore.
+ */
+@Configuration
+@ConditionalOnClass(HikariDataSource.class)
+public class DataSourcePoolMetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor hikariMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new HikariMetricsBeanPostProcessor(meterRegistry);
+    }
+
+    private static class HikariMetricsBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        HikariMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource)) {
+                return bean;
+            }
+
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+
+            if (registry != null && dataSource.getMetricRegistry() == null
+                    && dataSource.getMetricsTrackerFactory() == null) {
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.forleven.school.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wrap the DataSource to count the statements by thread in {@code QueryCountHolder} (read by the
+ * QueryCountInterceptor and the tests) and log the statements slower than
+ * {@code school.datasource-proxy.slow-query-threshold-ms}.
+ * <p>
+ * Wrapped last, so the other post processors (as the pool metrics) still get the pool itself.
+ */
+@Configuration
+@ConditionalOnProperty(value = "school.datasource-proxy.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfiguration {
+
+    public static final String DATA_SOURCE_NAME = "school";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyBeanPostProcessor(Environment environment) {
+        long slowQueryThreshold = environment.getProperty(
+                "school.datasource-proxy.slow-query-threshold-ms", Long.class, 300L);
+
+        return new DataSourceProxyBeanPostProcessor(slowQueryThreshold);
+    }
+
+    private static class DataSourceProxyBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final long slowQueryThreshold;
+
+        DataSourceProxyBeanPostProcessor(long slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+
+            return ProxyDataSourceBuilder.create((DataSource) bean)
+                    .name(DATA_SOURCE_NAME)
+                    .countQuery()
+                    .logSlowQueryBySlf4j(slowQueryThreshold, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
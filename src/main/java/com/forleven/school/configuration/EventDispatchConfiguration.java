@@ -0,0 +1,92 @@
+package com.forleven.school.configuration;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class EventDispatchConfiguration {
+
+    public static final String SCHOOL_EVENT_EXECUTOR = "schoolEventExecutor";
+
+    /**
+     * Condition of listeners: when the outbox is enabled the events reach them by the outbox relay.
+     */
+    public static final String IN_MEMORY_DELIVERY = "!@schoolEventProperties.outbox.enabled";
+
+    @Bean(SCHOOL_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor schoolEventExecutor(SchoolEventProperties properties,
+                                                      MeterRegistry registry) {
+
+        SchoolEventProperties.Async async = properties.getAsync();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("school-event-");
+        executor.setCorePoolSize(async.getCorePoolSize());
+        executor.setMaxPoolSize(async.getMaxPoolSize());
+        executor.setQueueCapacity(async.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        Counter rejected = registry.counter("school.events.rejected");
+        RejectedExecutionHandler handler = rejectionHandler(async.getRejectionPolicy());
+
+        executor.setRejectedExecutionHandler((runnable, threadPoolExecutor) -> {
+            rejected.increment();
+            handler.rejectedExecution(runnable, threadPoolExecutor);
+        });
+
+        // lag between publish and the listener start to run
+        Timer lag = Timer.builder("school.events.lag")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        executor.setTaskDecorator(runnable -> {
+            long submittedAt = System.nanoTime();
+
+            return () -> {
+                lag.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                runnable.run();
+            };
+        });
+
+        Gauge.builder("school.events.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(registry);
+        Gauge.builder("school.events.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(registry);
+
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(SchoolEventProperties.RejectionPolicy policy) {
+        switch (policy) {
+            case ABORT:
+                return new ThreadPoolExecutor.AbortPolicy();
+            case DISCARD:
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case DISCARD_OLDEST:
+                return new ThreadPoolExecutor.DiscardOldestPolicy();
+            default:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+    }
+
+    /**
+     * Without this, @Async in listeners is ignored and the events are delivered in the request thread.
+     */
+    @Configuration
+    @EnableAsync
+    @ConditionalOnProperty(value = "school.events.async.enabled", havingValue = "true")
+    static class AsyncEventDispatchConfiguration {
+    }
+}
@@ -0,0 +1,23 @@
+package com.forleven.school.configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate statistics (second level cache and query cache hits, misses, puts...) as metrics.
+ */
+@Configuration
+@ConditionalOnProperty(value = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateMetricsConfiguration {
+
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> HibernateMetrics.monitor(registry, entityManagerFactory, "entityManagerFactory");
+    }
+}
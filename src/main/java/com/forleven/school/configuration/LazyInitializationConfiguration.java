@@ -0,0 +1,91 @@
+package com.forleven.school.configuration;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Create the beans on first use instead of at startup ({@code school.startup.lazy-initialization}).
+ * <p>
+ * Not lazy: infrastructure beans, beans with {@code @Scheduled} methods (only scheduled once created),
+ * {@link SmartInitializingSingleton}s, beans whose type is unknown before creation and the bean names in
+ * {@code school.startup.eager-beans}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "school.startup.lazy-initialization", havingValue = "true")
+public class LazyInitializationConfiguration {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor(Environment environment) {
+        Set<String> eagerBeans = new HashSet<>(Arrays.asList(
+                environment.getProperty("school.startup.eager-beans", String[].class, new String[0])));
+
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+
+                if (!eagerBeans.contains(beanName) && canBeLazy(definition, beanFactory)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean canBeLazy(BeanDefinition definition, ConfigurableListableBeanFactory beanFactory) {
+        if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+            return false;
+        }
+
+        Class<?> type = beanType(definition, beanFactory.getBeanClassLoader());
+
+        return type != null
+                && !SmartInitializingSingleton.class.isAssignableFrom(type)
+                && !hasScheduledMethods(type);
+    }
+
+    /**
+     * The declared type, without creating the bean (or the factory bean declaring it).
+     */
+    private static Class<?> beanType(BeanDefinition definition, ClassLoader classLoader) {
+        String className = definition.getBeanClassName();
+
+        if (definition instanceof AnnotatedBeanDefinition) {
+            MethodMetadata factoryMethod = ((AnnotatedBeanDefinition) definition).getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                className = factoryMethod.getReturnTypeName();
+            }
+        }
+
+        if (className == null || !ClassUtils.isPresent(className, classLoader)) {
+            return null;
+        }
+        return ClassUtils.resolveClassName(className, classLoader);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> type) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+
+        ReflectionUtils.doWithMethods(type,
+                (Method method) -> scheduled.set(true),
+                (Method method) -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+
+        return scheduled.get();
+    }
+}
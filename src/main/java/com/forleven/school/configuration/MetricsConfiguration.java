@@ -0,0 +1,32 @@
+package com.forleven.school.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.forleven.school.metrics.QueryCountInterceptor;
+
+@Configuration
+public class MetricsConfiguration implements WebMvcConfigurer {
+
+    @Autowired(required = false)
+    private QueryCountInterceptor queryCountInterceptor;
+
+    // enable @Timed in SchoolService methods
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (queryCountInterceptor != null) {
+            registry.addInterceptor(queryCountInterceptor).addPathPatterns("/school/**");
+        }
+    }
+}
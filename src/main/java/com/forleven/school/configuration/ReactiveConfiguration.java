@@ -0,0 +1,48 @@
+package com.forleven.school.configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class ReactiveConfiguration {
+
+    public static final String SCHOOL_JDBC_SCHEDULER = "schoolJdbcScheduler";
+
+    /**
+     * Bounded pool where the blocking JPA calls of the reactive endpoints run, out of the container threads.
+     * A full queue rejects the call (503) instead of growing.
+     */
+    @Bean(name = SCHOOL_JDBC_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler schoolJdbcScheduler(@Value("${school.reactive.pool-size:32}") int poolSize,
+                                         @Value("${school.reactive.queue-capacity:1000}") int queueCapacity,
+                                         MeterRegistry registry) {
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("school-jdbc-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("school.reactive.queue.depth", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("school.reactive.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+
+        return Schedulers.fromExecutorService(executor);
+    }
+}
@@ -0,0 +1,68 @@
+package com.forleven.school.configuration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("school.events")
+public class SchoolEventProperties {
+
+    private Async async = new Async();
+
+    private Outbox outbox = new Outbox();
+
+    @Data
+    public static class Async {
+
+        /**
+         * Deliver events to listeners in a worker pool after the transaction commit,
+         * instead of in the request thread.
+         */
+        private boolean enabled = false;
+
+        private int corePoolSize = 2;
+
+        private int maxPoolSize = 4;
+
+        private int queueCapacity = 1000;
+
+        /**
+         * What to do when the queue is full.
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+    }
+
+    @Data
+    public static class Outbox {
+
+        /**
+         * Write events in school_outbox table in the same transaction of the school
+         * and deliver them to listeners by the relay, instead of in memory.
+         */
+        private boolean enabled = false;
+
+        private int batchSize = 100;
+
+        /**
+         * Milliseconds between relay polls.
+         */
+        private long pollInterval = 1000;
+
+        private Sink sink = Sink.LISTENER;
+    }
+
+    public enum Sink {
+        LISTENER,
+        MEMORY
+    }
+
+    public enum RejectionPolicy {
+        CALLER_RUNS,
+        ABORT,
+        DISCARD,
+        DISCARD_OLDEST
+    }
+}
@@ -1,9 +1,13 @@
 package com.forleven.school.configuration;
 
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
 
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.builders.PathSelectors;
@@ -13,20 +17,32 @@ import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+/**
+ * Springfox scans the handlers when the context starts, in the fast-startup profile it is disabled
+ * ({@code school.swagger.enabled}) and the spec generated by the build is served as {@code /swagger.json}.
+ */
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(value = "school.swagger.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfiguration {
 
+    private static final String CONTROLLER_PACKAGE = "com.forleven.school.controller";
+
+    private static final Set<String> MEDIA_TYPES = new LinkedHashSet<>(Arrays.asList(
+            MediaType.APPLICATION_JSON_VALUE,
+            BinaryFormatConfiguration.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfiguration.APPLICATION_SMILE_VALUE));
+
     @Bean
     public Docket api() {
 
         return new Docket(DocumentationType.SWAGGER_2)
                 .useDefaultResponseMessages(false)
                 .apiInfo(apiInfo())
-                .produces(Collections.singleton("application/json"))
-                .consumes(Collections.singleton("application/json"))
+                .produces(MEDIA_TYPES)
+                .consumes(MEDIA_TYPES)
                 .select()
-                .apis(RequestHandlerSelectors.any())
+                .apis(RequestHandlerSelectors.basePackage(CONTROLLER_PACKAGE))
                 .paths(PathSelectors.regex("(?!/error).+"))
                 .build();
     }
@@ -0,0 +1,258 @@
+package com.forleven.school.controller;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.validation.Valid;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.swagger.annotations.*;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import com.forleven.common.exception.NotFoundException;
+import com.forleven.common.fn.Lambda;
+import com.forleven.common.validation.FormErrors;
+import com.forleven.common.web.ResourceErrors;
+import com.forleven.common.web.Resources;
+import com.forleven.common.web.ResponseError;
+import com.forleven.school.configuration.ReactiveConfiguration;
+import com.forleven.school.form.SchoolForm;
+import com.forleven.school.idempotency.IdempotentRequests;
+import com.forleven.school.metrics.QueriesRecordedOffThread;
+import com.forleven.school.metrics.SchoolMetrics;
+import com.forleven.school.model.School;
+import com.forleven.school.service.ResilientSchoolService;
+import com.forleven.school.service.SchoolService;
+import com.forleven.school.web.SchoolETags;
+import com.forleven.school.web.SchoolResponses;
+
+import springfox.documentation.annotations.ApiIgnore;
+
+/**
+ * Non blocking variant of /school: the container thread is released while the school services run
+ * in the bounded school jdbc scheduler (the read of a school in the hystrix thread pool), and the response
+ * is written when the Mono completes, or 503 after school.reactive.timeout.
+ * <p>
+ * Same guarantees as /school (circuit breaker and stale copy on read, validators on the lists, If-Match
+ * on update, Idempotency-Key on create), except the coalescing of updates.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/reactive/school")
+@Api(value = "reactive school", tags = "Reactive School", description = "Non blocking operations pertaining to School")
+public class ReactiveSchoolController {
+
+    @Autowired
+    private FormErrors formErrors;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private ResilientSchoolService resilientSchoolService;
+
+    @Autowired
+    private SchoolMetrics schoolMetrics;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    @Qualifier(ReactiveConfiguration.SCHOOL_JDBC_SCHEDULER)
+    private Scheduler schoolJdbcScheduler;
+
+    @Value("${school.reactive.timeout:5000}")
+    private long timeout;
+
+    @GetMapping
+    @ApiOperation(value = "List School")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain Schools"),
+            @ApiResponse(code = 404, message = "Schools Not Founded", response = ResponseError.class),
+            @ApiResponse(code = 503, message = "Too many requests in progress, or timed out"),
+    })
+    public Mono<ResponseEntity<Resources<School>>> getSchools(
+            @ApiIgnore Pageable pageable) {
+
+        log.info("GET reactive request to return all schools");
+
+        return blocking(() -> schoolService.getSchools(pageable))
+                .map(schools -> schools
+                        .map(SchoolResponses::of)
+                        .orElseThrow(() -> schoolMetrics.error("getSchools", new NotFoundException("school.not_founded"))));
+    }
+
+    @GetMapping("/{schoolId}")
+    @QueriesRecordedOffThread
+    @ApiOperation(value = "View a School", response = School.class)
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain School, with Warning header when it is a stale copy"),
+            @ApiResponse(code = 404, message = "School Not Founded", response = ResponseError.class),
+            @ApiResponse(code = 503, message = "Too many requests in progress, timed out, or School read unavailable and no stale copy"),
+    })
+    public Mono<ResponseEntity<School>> getSchool(
+            @ApiParam(value = "ID of School to obtain School", required = true, example = "1")
+            @PathVariable Long schoolId) {
+
+        log.info("GET reactive request to return a School");
+
+        return resilientSchoolService.observeSchool(schoolId)
+                .timeout(Duration.ofMillis(timeout))
+                .map(schoolRead -> schoolRead
+                        .map(SchoolResponses::of)
+                        .orElseThrow(() -> schoolMetrics.error("getSchool", new NotFoundException("school.not_founded"))));
+    }
+
+    @PostMapping
+    @ApiOperation(value = "Save a new School")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "School accept to verification", response = Object.class),
+            @ApiResponse(code = 409, message = "Idempotency-Key in progress"),
+            @ApiResponse(code = 422, message = "Idempotency-Key already used with another School"),
+            @ApiResponse(code = 400, message = "Errors on School object", response = ResourceErrors.class),
+            @ApiResponse(code = 503, message = "Too many requests in progress, or timed out"),
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<ResponseEntity> saveSchool(
+            @ApiParam(value = "Unique key by School to create, a retry with the same key gets the first response")
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @ApiParam(name = "body", value = "School object that needs to be added to the sample", required = true)
+            @Valid @RequestBody SchoolForm schoolForm,
+            BindingResult bindingResult) {
+
+        log.info("POST reactive request to save a new School");
+
+        if (bindingResult.hasErrors()) {
+            log.error("Error in binding results");
+            schoolMetrics.validationFailure("saveSchool");
+            return Mono.just(formErrors.validationsToResponse(bindingResult));
+        }
+
+        if (idempotencyKey != null) {
+            return blocking(() -> idempotentRequests.execute("saveSchool", idempotencyKey, schoolForm,
+                    () -> saveSchool(schoolForm)));
+        }
+
+        return blocking(() -> saveSchool(schoolForm));
+    }
+
+    private ResponseEntity saveSchool(SchoolForm schoolForm) {
+        return schoolService.saveSchool(schoolForm).fold(
+                error -> Lambda.errorToResponse(schoolMetrics.error("saveSchool", error)),
+                success -> ResponseEntity.accepted().build()
+        );
+    }
+
+    @PutMapping("/{schoolId}")
+    @ApiOperation(value = "Update a School")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "Update of School accepted to new verification", response = Object.class),
+            @ApiResponse(code = 404, message = "School Not Founded", response = ResponseError.class),
+            @ApiResponse(code = 400, message = "Error on School object", response = ResourceErrors.class),
+            @ApiResponse(code = 412, message = "School changed since the ETag in If-Match"),
+            @ApiResponse(code = 503, message = "Too many requests in progress, or timed out"),
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<ResponseEntity> updateSchool(
+            @ApiParam(value = "ID School to update", required = true, example = "1")
+            @PathVariable Long schoolId,
+            @ApiParam(name = "body", value = "School object that needs to be update to the sample", required = true)
+            @RequestBody @Valid SchoolForm schoolForm,
+            BindingResult bindingResult,
+            @ApiParam(value = "ETag of School read by client, update only if it is still current")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        log.info("PUT reactive request to update a School");
+
+        if (bindingResult.hasErrors()) {
+            log.error("Error in binding results");
+            schoolMetrics.validationFailure("updateSchool");
+            return Mono.just(formErrors.validationsToResponse(bindingResult));
+        }
+
+        Long expectedVersion = null;
+
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            Optional<Long> version = SchoolETags.versionOf(ifMatch.trim(), schoolId);
+
+            if (!version.isPresent()) {
+                return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+            }
+
+            expectedVersion = version.get();
+        }
+
+        School school = School.builder()
+                .id(schoolId)
+                .name(schoolForm.getName())
+                .version(expectedVersion)
+                .build();
+
+        return blocking(() -> schoolService.updateSchool(school))
+                .map(schoolOrError -> schoolOrError.fold(
+                        error -> Lambda.errorToResponse(schoolMetrics.error("updateSchool", error)),
+                        success -> ResponseEntity.accepted().build()
+                ));
+    }
+
+    @DeleteMapping("/{schoolId}")
+    @ApiOperation(value = "Delete a School")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "School deleted", response = Object.class),
+            @ApiResponse(code = 404, message = "School not founded", response = ResourceErrors.class),
+            @ApiResponse(code = 503, message = "Too many requests in progress, or timed out"),
+    })
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<ResponseEntity> deleteSchool(
+            @ApiParam(value = "ID of School to delete a School", required = true, example = "1")
+            @PathVariable Long schoolId) {
+
+        log.info("DELETE reactive request to delete a School");
+
+        return blocking(() -> schoolService.deleteSchool(schoolId))
+                .map(hasErrors -> hasErrors
+                        .map(error -> Lambda.errorToResponse(schoolMetrics.error("deleteSchool", error)))
+                        .orElseGet(Lambda.TO_ACCEPTED));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.error("School changed since the version expected by client");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity handleRejectedExecution(RejectedExecutionException e) {
+        log.error("School jdbc scheduler is full");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity handleTimeout(TimeoutException e) {
+        log.error("Reactive school request timed out");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(schoolJdbcScheduler)
+                .timeout(Duration.ofMillis(timeout));
+    }
+}
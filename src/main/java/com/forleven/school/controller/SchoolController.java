@@ -1,30 +1,57 @@
 package com.forleven.school.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 import lombok.extern.slf4j.Slf4j;
 
 import io.swagger.annotations.*;
 
-import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import com.forleven.common.exception.NotFoundException;
 import com.forleven.common.fn.Lambda;
+import com.forleven.common.specification.GeneralSpecification;
 import com.forleven.common.validation.FormErrors;
 import com.forleven.common.web.ResourceErrors;
 import com.forleven.common.web.Resources;
 import com.forleven.common.web.ResponseError;
+import com.forleven.school.aggregate.SchoolAggregates;
+import com.forleven.school.form.SchoolBatchForm;
 import com.forleven.school.form.SchoolForm;
+import com.forleven.school.idempotency.IdempotentRequests;
+import com.forleven.school.metrics.QueriesRecordedOffThread;
+import com.forleven.school.metrics.SchoolMetrics;
 import com.forleven.school.model.School;
+import com.forleven.school.service.ResilientSchoolService;
+import com.forleven.school.service.SchoolSearchService;
 import com.forleven.school.service.SchoolService;
+import com.forleven.school.service.SchoolUpdateCoalescer;
+import com.forleven.school.web.Cursor;
+import com.forleven.school.web.CursorResources;
+import com.forleven.school.web.SchoolChanges;
+import com.forleven.school.web.SchoolETags;
+import com.forleven.school.web.SchoolResponses;
 
 import springfox.documentation.annotations.ApiIgnore;
 
@@ -34,12 +61,40 @@ import springfox.documentation.annotations.ApiIgnore;
 @Api(value = "school", tags = "School", description = "Operations pertaining to School")
 public class SchoolController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final LocalDateTime CHANGES_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private FormErrors formErrors;
 
     @Autowired
     private SchoolService schoolService;
 
+    @Autowired
+    private ResilientSchoolService resilientSchoolService;
+
+    @Autowired
+    private SchoolSearchService schoolSearchService;
+
+    @Autowired
+    private SchoolMetrics schoolMetrics;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    // present when school.coalescing.enabled
+    @Autowired(required = false)
+    private SchoolUpdateCoalescer schoolUpdateCoalescer;
+
+    @Value("${school.export.timeout:600000}")
+    private long exportTimeout;
+
     @GetMapping
     @ApiOperation(value = "List School")
     @ApiResponses({
@@ -52,16 +107,130 @@ public class SchoolController {
         log.info("GET request to return all schools");
 
         return schoolService.getSchools(pageable)
+                .map(SchoolResponses::of)
+                .orElseThrow(() -> schoolMetrics.error("getSchools", new NotFoundException("school.not_founded")));
+    }
+
+    @GetMapping(params = "cursor")
+    @ApiOperation(value = "List School by cursor")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain Schools"),
+            @ApiResponse(code = 400, message = "Invalid cursor"),
+            @ApiResponse(code = 404, message = "Schools Not Founded", response = ResponseError.class),
+    })
+    public ResponseEntity<CursorResources<School>> getSchoolsByCursor(
+            @ApiParam(value = "Cursor returned in next_cursor of previous page, empty to first page", required = true)
+            @RequestParam String cursor,
+            @ApiParam(value = "Size of page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("GET request to return schools by cursor");
+
+        Long afterSchoolId;
+
+        try {
+            afterSchoolId = Cursor.decode(cursor).orElse(null);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid cursor in request");
+            return ResponseEntity.badRequest().build();
+        }
+
+        Specification<School> spec = GeneralSpecification.hasStatusActive();
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        return schoolService.getSchools(spec, afterSchoolId, pageSize)
+                .map(slice -> CursorResources.of(slice, School::getId))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> schoolMetrics.error("getSchoolsByCursor", new NotFoundException("school.not_founded")));
+    }
+
+    @GetMapping("/search")
+    @ApiOperation(value = "Search School by name")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain Schools ordered by relevance"),
+            @ApiResponse(code = 404, message = "Schools Not Founded", response = ResponseError.class),
+    })
+    public ResponseEntity<Resources<School>> searchSchools(
+            @ApiParam(value = "Prefix or approximate name of School", required = true, example = "pretty sch")
+            @RequestParam("q") String query,
+            @ApiIgnore Pageable pageable) {
+
+        log.info("GET request to search schools");
+
+        return schoolSearchService.searchSchools(query, pageable)
                 .map(Lambda::toResponse)
-                .orElseThrow(() -> new NotFoundException("school.not_founded"));
+                .orElseThrow(() -> schoolMetrics.error("searchSchools", new NotFoundException("school.not_founded")));
+    }
+
+    @GetMapping("/aggregates")
+    @ApiOperation(value = "Count Schools", response = SchoolAggregates.class)
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain total, active and deleted Schools"),
+    })
+    public ResponseEntity<SchoolAggregates> getAggregates() {
+
+        log.info("GET request to return the school aggregates");
+
+        return ResponseEntity.ok(schoolService.getAggregates());
+    }
+
+    @GetMapping("/changes")
+    @ApiOperation(value = "List Schools changed since a point", response = SchoolChanges.class)
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Obtain Schools created, updated or deleted in order of change, "
+                    + "a few seconds behind now; resync from the list when the last pull is older than the archive retention"),
+    })
+    public ResponseEntity<SchoolChanges> getChanges(
+            @ApiParam(value = "next_since of previous page, empty to all changes", example = "2018-10-01T10:15:30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @ApiParam(value = "next_after_id of previous page", example = "0")
+            @RequestParam(value = "after_id", defaultValue = "0") Long afterId,
+            @ApiParam(value = "Size of page", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("GET request to return changed schools");
+
+        LocalDateTime from = since == null ? CHANGES_EPOCH : since;
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        return ResponseEntity.ok(SchoolChanges.of(schoolService.getChanges(from, afterId, pageSize), from, afterId));
+    }
+
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    @ApiOperation(value = "Export all active Schools as newline delimited json")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Stream of Schools, one per line"),
+    })
+    public WebAsyncTask<ResponseEntity<Void>> exportSchools(@ApiIgnore HttpServletResponse response) {
+
+        log.info("GET request to export all schools");
+
+        // written to the response in the async thread, with its own timeout instead of the mvc default
+        return new WebAsyncTask<>(exportTimeout, () -> {
+            response.setContentType(APPLICATION_NDJSON);
+            OutputStream outputStream = response.getOutputStream();
+
+            schoolService.exportSchools(school -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(school));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+
+            return ResponseEntity.ok().build();
+        });
     }
 
-    @HystrixCommand(fallbackMethod = "fallbackGetSchool")
     @GetMapping("/{schoolId}")
+    @QueriesRecordedOffThread
     @ApiOperation(value = "View a School", response = School.class)
     @ApiResponses({
-            @ApiResponse(code = 200, message = "Obtain School"),
+            @ApiResponse(code = 200, message = "Obtain School, with Warning header when it is a stale copy"),
             @ApiResponse(code = 404, message = "School Not Founded", response = ResponseError.class),
+            @ApiResponse(code = 503, message = "School read unavailable and no stale copy"),
     })
     public ResponseEntity<School> getSchool(
             @ApiParam(value = "ID of School to obtain School", required = true, example = "1")
@@ -69,20 +238,23 @@ public class SchoolController {
 
         log.info("GET request to return a School");
 
-        return schoolService.getSchool(schoolId)
-                .map(Lambda::toResponse)
-                .orElseThrow(() -> new NotFoundException("school.not_founded"));
+        return resilientSchoolService.getSchool(schoolId)
+                .map(SchoolResponses::of)
+                .orElseThrow(() -> schoolMetrics.error("getSchool", new NotFoundException("school.not_founded")));
     }
 
     @PostMapping
     @ApiOperation(value = "Save a new School")
     @ApiResponses({
             @ApiResponse(code = 202, message = "School accept to verification", response = Object.class),
-            @ApiResponse(code = 409, message = "Conflict occur in save School method", response = ResponseError.class),
+            @ApiResponse(code = 409, message = "Conflict occur in save School method, or Idempotency-Key in progress", response = ResponseError.class),
+            @ApiResponse(code = 422, message = "Idempotency-Key already used with another School"),
             @ApiResponse(code = 400, message = "Errors on School object", response = ResourceErrors.class)
     })
     @ResponseStatus(HttpStatus.ACCEPTED)
     public ResponseEntity saveSchool(
+            @ApiParam(value = "Unique key by School to create, a retry with the same key gets the first response")
+            @RequestHeader(value = IdempotentRequests.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @ApiParam(name = "body", value = "School object that needs to be added to the sample", required = true)
             @Valid @RequestBody SchoolForm schoolForm,
             BindingResult bindingResult) {
@@ -91,11 +263,47 @@ public class SchoolController {
 
         if (bindingResult.hasErrors()) {
             log.error("Error in binding results");
+            schoolMetrics.validationFailure("saveSchool");
             return formErrors.validationsToResponse(bindingResult);
         }
 
+        if (idempotencyKey != null) {
+            return idempotentRequests.execute("saveSchool", idempotencyKey, schoolForm,
+                    () -> saveSchool(schoolForm));
+        }
+
+        return saveSchool(schoolForm);
+    }
+
+    private ResponseEntity saveSchool(SchoolForm schoolForm) {
         return schoolService.saveSchool(schoolForm).fold(
-                Lambda::errorToResponse,
+                error -> Lambda.errorToResponse(schoolMetrics.error("saveSchool", error)),
+                success -> ResponseEntity.accepted().build()
+        );
+    }
+
+    @PostMapping("/batch")
+    @ApiOperation(value = "Save a batch of new Schools")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "Schools accept to verification", response = Object.class),
+            @ApiResponse(code = 400, message = "Errors on Schools objects", response = ResourceErrors.class)
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ResponseEntity saveSchools(
+            @ApiParam(name = "body", value = "Schools that needs to be added to the sample", required = true)
+            @Valid @RequestBody SchoolBatchForm schoolBatchForm,
+            BindingResult bindingResult) {
+
+        log.info("POST request to save a batch of Schools");
+
+        if (bindingResult.hasErrors()) {
+            log.error("Error in binding results");
+            schoolMetrics.validationFailure("saveSchools");
+            return formErrors.validationsToResponse(bindingResult);
+        }
+
+        return schoolService.saveSchools(schoolBatchForm.getSchools()).fold(
+                error -> Lambda.errorToResponse(schoolMetrics.error("saveSchools", error)),
                 success -> ResponseEntity.accepted().build()
         );
     }
@@ -105,7 +313,8 @@ public class SchoolController {
     @ApiResponses({
             @ApiResponse(code = 202, message = "Update of School accepted to new verification", response = Object.class),
             @ApiResponse(code = 404, message = "School Not Founded", response = ResponseError.class),
-            @ApiResponse(code = 400, message = "Error on School object", response = ResourceErrors.class)
+            @ApiResponse(code = 400, message = "Error on School object", response = ResourceErrors.class),
+            @ApiResponse(code = 412, message = "School changed since the ETag in If-Match")
     })
     @ResponseStatus(HttpStatus.ACCEPTED)
     public ResponseEntity updateSchool(
@@ -113,22 +322,43 @@ public class SchoolController {
             @PathVariable Long schoolId,
             @ApiParam(name = "body", value = "School object that needs to be update to the sample", required = true)
             @RequestBody @Valid SchoolForm schoolForm,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @ApiParam(value = "ETag of School read by client, update only if it is still current")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("PUT request to update a School");
 
         if (bindingResult.hasErrors()) {
             log.error("Error in binding results");
+            schoolMetrics.validationFailure("updateSchool");
             return formErrors.validationsToResponse(bindingResult);
         }
 
+        Long expectedVersion = null;
+
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            Optional<Long> version = SchoolETags.versionOf(ifMatch.trim(), schoolId);
+
+            if (!version.isPresent()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+
+            expectedVersion = version.get();
+        }
+
+        // an update with If-Match is not coalesced: it must fail when another one is applied before it
+        if (schoolUpdateCoalescer != null && expectedVersion == null) {
+            return coalesceUpdateSchool(schoolId, schoolForm);
+        }
+
         School school = School.builder()
                 .id(schoolId)
                 .name(schoolForm.getName())
+                .version(expectedVersion)
                 .build();
 
         return schoolService.updateSchool(school).fold(
-                Lambda::errorToResponse,
+                error -> Lambda.errorToResponse(schoolMetrics.error("updateSchool", error)),
                 success -> ResponseEntity.accepted().build()
         );
     }
@@ -147,19 +377,29 @@ public class SchoolController {
         log.info("DELETE request to delete a School");
 
         return schoolService.deleteSchool(schoolId)
-                .map(Lambda::errorToResponse)
+                .map(error -> Lambda.errorToResponse(schoolMetrics.error("deleteSchool", error)))
                 .orElseGet(Lambda.TO_ACCEPTED);
     }
 
-    // FALLBACK METHODS
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.error("School changed since the version expected by client");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
 
-    public ResponseEntity fallbackGetSchool(Long schoolId) {
+    /**
+     * Check the school exists now and leave the update to the coalescer, last writer wins.
+     */
+    private ResponseEntity coalesceUpdateSchool(Long schoolId, SchoolForm schoolForm) {
+        if (!schoolService.getSchool(schoolId).isPresent()) {
+            return Lambda.errorToResponse(schoolMetrics.error("updateSchool", new NotFoundException("school.not_found")));
+        }
 
-        // publish in spring events to migrate this school in legacy to this service
-        // or
-        // call a service to get school any place and save in this service
+        schoolUpdateCoalescer.submit(School.builder()
+                .id(schoolId)
+                .name(schoolForm.getName())
+                .build());
 
-        // after do process retry
-        return getSchool(schoolId);
+        return ResponseEntity.accepted().build();
     }
 }
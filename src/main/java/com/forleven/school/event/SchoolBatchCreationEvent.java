@@ -0,0 +1,16 @@
+package com.forleven.school.event;
+
+import java.util.List;
+
+import lombok.Value;
+
+import com.forleven.school.model.School;
+
+/**
+ * One event for all schools created in a batch, instead of a CreationEvent per school.
+ */
+@Value
+public class SchoolBatchCreationEvent {
+
+    private List<School> schools;
+}
@@ -0,0 +1,14 @@
+package com.forleven.school.event;
+
+import lombok.Value;
+
+import com.forleven.school.model.School;
+
+/**
+ * Published on soft delete of a school.
+ */
+@Value
+public class SchoolDeletionEvent {
+
+    private School school;
+}
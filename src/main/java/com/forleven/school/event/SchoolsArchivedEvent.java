@@ -0,0 +1,14 @@
+package com.forleven.school.event;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Published after a batch of soft deleted schools is moved to school_archive.
+ */
+@Value
+public class SchoolsArchivedEvent {
+
+    private List<Long> schoolIds;
+}
@@ -0,0 +1,33 @@
+package com.forleven.school.form;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Wither;
+
+import io.swagger.annotations.ApiModelProperty;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Wither
+@Data
+public class SchoolBatchForm {
+
+    public static final int MAX_SCHOOLS = 10000;
+
+    @NotNull
+    @NotEmpty
+    @Size(max = MAX_SCHOOLS)
+    @Valid
+    @ApiModelProperty(position = 1)
+    private List<SchoolForm> schools;
+}
@@ -0,0 +1,41 @@
+package com.forleven.school.idempotency;
+
+import java.time.Instant;
+
+import lombok.Value;
+
+/**
+ * What is kept by idempotency key: the fingerprint of the first request and, once it completed,
+ * its response (status and json body). createdAt also identifies the claim, see IdempotencyStore.
+ */
+@Value
+public class IdempotencyRecord {
+
+    private String fingerprint;
+
+    // null while the first request is in progress
+    private Integer status;
+
+    private String body;
+
+    private Instant createdAt;
+
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null, null, Instant.now());
+    }
+
+    public IdempotencyRecord complete(int status, String body) {
+        return new IdempotencyRecord(fingerprint, status, body, createdAt);
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    /**
+     * In progress since before claimedBefore: its request is taken as lost (node down) and the key can be claimed again.
+     */
+    public boolean isAbandoned(Instant claimedBefore) {
+        return !isCompleted() && createdAt.isBefore(claimedBefore);
+    }
+}
@@ -0,0 +1,26 @@
+package com.forleven.school.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Bounded store of idempotency keys, the records expire after school.idempotency.ttl-minutes.
+ * A record still in progress after school.idempotency.lease-seconds is abandoned and can be claimed again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically keep the record for the key if there is none (or an abandoned one): return empty when the
+     * caller got the key (and must complete or release it), or the record already there.
+     */
+    Optional<IdempotencyRecord> claim(String key, IdempotencyRecord inProgress);
+
+    /**
+     * Keep the response, only while the key is still held by the claim (same createdAt) of the caller.
+     */
+    void complete(String key, IdempotencyRecord completed);
+
+    /**
+     * Forget a key whose request failed, so a retry executes again. Nothing when the key was claimed again.
+     */
+    void release(String key, IdempotencyRecord claimed);
+}
@@ -0,0 +1,129 @@
+package com.forleven.school.idempotency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Execute a request once by Idempotency-Key: a retry with the same key gets the response of the first
+ * execution (with Idempotent-Replayed: true) without executing again.
+ * <ul>
+ * <li>same key with a different body: 422</li>
+ * <li>same key while the first request is still running: 409, until school.idempotency.lease-seconds
+ * after it started, then the retry executes (the first request is taken as lost)</li>
+ * <li>first request failed with an exception or 5xx: the key is released, the retry executes</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class IdempotentRequests {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public IdempotentRequests(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResponseEntity execute(String operation, String key, Object request, Supplier<ResponseEntity> execution) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String storeKey = operation + ':' + key;
+        String fingerprint = fingerprint(request);
+
+        IdempotencyRecord claimed = IdempotencyRecord.inProgress(fingerprint);
+        Optional<IdempotencyRecord> existing = idempotencyStore.claim(storeKey, claimed);
+
+        if (existing.isPresent()) {
+            return replay(operation, existing.get(), fingerprint);
+        }
+
+        ResponseEntity response;
+        try {
+            response = execution.get();
+        } catch (RuntimeException | Error e) {
+            idempotencyStore.release(storeKey, claimed);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            idempotencyStore.release(storeKey, claimed);
+        } else {
+            idempotencyStore.complete(storeKey, claimed.complete(response.getStatusCodeValue(),
+                    toJson(response.getBody())));
+        }
+
+        return response;
+    }
+
+    private ResponseEntity replay(String operation, IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            meterRegistry.counter("school.idempotency.mismatches", "operation", operation).increment();
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+
+        if (!record.isCompleted()) {
+            meterRegistry.counter("school.idempotency.conflicts", "operation", operation).increment();
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        meterRegistry.counter("school.idempotency.replays", "operation", operation).increment();
+        log.debug("Replay of {} with status {}", operation, record.getStatus());
+
+        ResponseEntity.BodyBuilder replayed = ResponseEntity.status(record.getStatus())
+                .header(REPLAYED_HEADER, "true");
+
+        return record.getBody() == null
+                ? replayed.build()
+                : replayed.contentType(MediaType.APPLICATION_JSON_UTF8).body(record.getBody());
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.forleven.school.idempotency;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keys of this node only, in a Caffeine cache bounded by size and ttl.
+ */
+@Component
+@ConditionalOnProperty(value = "school.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotencyRecord> records;
+
+    private final long leaseSeconds;
+
+    @Autowired
+    public InMemoryIdempotencyStore(@Value("${school.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                    @Value("${school.idempotency.maximum-size:100000}") long maximumSize,
+                                    @Value("${school.idempotency.lease-seconds:30}") long leaseSeconds) {
+
+        this.leaseSeconds = leaseSeconds;
+        this.records = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, IdempotencyRecord inProgress) {
+        ConcurrentMap<String, IdempotencyRecord> map = records.asMap();
+        Instant claimedBefore = inProgress.getCreatedAt().minusSeconds(leaseSeconds);
+
+        IdempotencyRecord existing = map.putIfAbsent(key, inProgress);
+
+        // take over an abandoned claim, unless another request took it first
+        if (existing != null && existing.isAbandoned(claimedBefore) && map.replace(key, existing, inProgress)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(existing);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord completed) {
+        records.asMap().computeIfPresent(key, (k, current) ->
+                isClaim(current, completed) ? completed : current);
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord claimed) {
+        records.asMap().computeIfPresent(key, (k, current) ->
+                isClaim(current, claimed) ? null : current);
+    }
+
+    private static boolean isClaim(IdempotencyRecord current, IdempotencyRecord claim) {
+        return !current.isCompleted() && current.getCreatedAt().equals(claim.getCreatedAt());
+    }
+}
@@ -0,0 +1,112 @@
+package com.forleven.school.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keys in the school_idempotency table, shared by the nodes: the primary key makes the claim atomic
+ * between them, and a conditional update the take over of an abandoned claim. Expired rows are ignored
+ * and purged by schedule.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${school.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${school.idempotency.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, IdempotencyRecord inProgress) {
+        // second attempt after removing an expired row not purged yet
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                jdbcTemplate.update(
+                        "insert into school_idempotency (idempotency_key, fingerprint, created_at) values (?, ?, ?)",
+                        key, inProgress.getFingerprint(), Timestamp.from(inProgress.getCreatedAt()));
+
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                Optional<IdempotencyRecord> existing = find(key);
+                Instant claimedBefore = inProgress.getCreatedAt().minusSeconds(leaseSeconds);
+
+                if (existing.isPresent() && existing.get().isAbandoned(claimedBefore)) {
+                    // only one of the retries updates the row of the abandoned claim
+                    int taken = jdbcTemplate.update("update school_idempotency set fingerprint = ?, created_at = ? "
+                                    + "where idempotency_key = ? and status is null and created_at = ?",
+                            inProgress.getFingerprint(), Timestamp.from(inProgress.getCreatedAt()),
+                            key, Timestamp.from(existing.get().getCreatedAt()));
+
+                    return taken == 1 ? Optional.empty() : Optional.of(find(key).orElse(inProgress));
+                }
+
+                if (existing.isPresent() && existing.get().getCreatedAt().isAfter(expiredBefore())) {
+                    return existing;
+                }
+
+                jdbcTemplate.update("delete from school_idempotency where idempotency_key = ? and created_at < ?",
+                        key, Timestamp.from(expiredBefore()));
+            }
+        }
+
+        // lost both races, answer as if the other request is still running
+        return Optional.of(find(key).orElse(inProgress));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord completed) {
+        jdbcTemplate.update("update school_idempotency set status = ?, body = ? "
+                        + "where idempotency_key = ? and status is null and created_at = ?",
+                completed.getStatus(), completed.getBody(), key, Timestamp.from(completed.getCreatedAt()));
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord claimed) {
+        jdbcTemplate.update("delete from school_idempotency where idempotency_key = ? and status is null and created_at = ?",
+                key, Timestamp.from(claimed.getCreatedAt()));
+    }
+
+    @Scheduled(fixedDelayString = "${school.idempotency.purge-interval:600000}")
+    public void purge() {
+        int purged = jdbcTemplate.update("delete from school_idempotency where created_at < ?",
+                Timestamp.from(expiredBefore()));
+
+        log.debug("{} expired idempotency keys purged", purged);
+    }
+
+    private Optional<IdempotencyRecord> find(String key) {
+        List<IdempotencyRecord> records = jdbcTemplate.query(
+                "select fingerprint, status, body, created_at from school_idempotency where idempotency_key = ?",
+                (rs, rowNum) -> new IdempotencyRecord(
+                        rs.getString("fingerprint"),
+                        (Integer) rs.getObject("status"),
+                        rs.getString("body"),
+                        rs.getTimestamp("created_at").toInstant()),
+                key);
+
+        return records.stream().findFirst();
+    }
+
+    private Instant expiredBefore() {
+        return Instant.now().minus(ttlMinutes, ChronoUnit.MINUTES);
+    }
+}
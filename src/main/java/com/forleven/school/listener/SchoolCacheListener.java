@@ -0,0 +1,37 @@
+package com.forleven.school.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.common.event.CreationEvent;
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.configuration.CacheConfiguration;
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.model.School;
+
+@Slf4j
+@Component
+public class SchoolCacheListener {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfiguration.SCHOOL_CACHE, key = "#event.source.id")
+    public void handleEvent(CreationEvent<School> event) {
+        log.debug("Evict school cache when create school");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfiguration.SCHOOL_CACHE, key = "#event.source.id")
+    public void handleEvent(UpdatingEvent<School> event) {
+        log.debug("Evict school cache when update school");
+    }
+
+    // after the commit, so a read concurrent to the delete doesn't cache the school again and a rollback keeps it
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfiguration.SCHOOL_CACHE, key = "#event.school.id", condition = "#event.school != null")
+    public void handleEvent(SchoolDeletionEvent event) {
+        log.debug("Evict school cache when delete school");
+    }
+}
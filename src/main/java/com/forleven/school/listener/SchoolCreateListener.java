@@ -2,18 +2,36 @@ package com.forleven.school.listener;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.forleven.common.event.CreationEvent;
+import com.forleven.school.configuration.EventDispatchConfiguration;
+import com.forleven.school.event.SchoolBatchCreationEvent;
 import com.forleven.school.model.School;
 
 @Slf4j
 @Component
 public class SchoolCreateListener {
 
-    @EventListener
+    @Async(EventDispatchConfiguration.SCHOOL_EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true, condition = EventDispatchConfiguration.IN_MEMORY_DELIVERY)
     public void handleEvent(CreationEvent<School> schoolCreationEvent) {
+        process(schoolCreationEvent);
+    }
+
+    @Async(EventDispatchConfiguration.SCHOOL_EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true, condition = EventDispatchConfiguration.IN_MEMORY_DELIVERY)
+    public void handleEvent(SchoolBatchCreationEvent schoolBatchCreationEvent) {
+        process(schoolBatchCreationEvent);
+    }
+
+    public void process(CreationEvent<School> schoolCreationEvent) {
         log.info("Receive a listener when create school");
     }
+
+    public void process(SchoolBatchCreationEvent schoolBatchCreationEvent) {
+        log.info("Receive a listener when create {} schools", schoolBatchCreationEvent.getSchools().size());
+    }
 }
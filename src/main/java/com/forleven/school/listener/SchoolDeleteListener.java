@@ -0,0 +1,25 @@
+package com.forleven.school.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.school.configuration.EventDispatchConfiguration;
+import com.forleven.school.event.SchoolDeletionEvent;
+
+@Slf4j
+@Component
+public class SchoolDeleteListener {
+
+    @Async(EventDispatchConfiguration.SCHOOL_EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true, condition = EventDispatchConfiguration.IN_MEMORY_DELIVERY)
+    public void handleEvent(SchoolDeletionEvent schoolDeletionEvent) {
+        process(schoolDeletionEvent);
+    }
+
+    public void process(SchoolDeletionEvent schoolDeletionEvent) {
+        log.info("Receive a listener when delete school");
+    }
+}
@@ -0,0 +1,68 @@
+package com.forleven.school.listener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.common.event.CreationEvent;
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.model.School;
+import com.forleven.school.search.SchoolNameIndex;
+import com.forleven.school.service.SchoolService;
+
+/**
+ * Keep the school name index current with the school changes.
+ */
+@Slf4j
+@Component
+public class SchoolSearchListener {
+
+    @Autowired
+    private SchoolNameIndex schoolNameIndex;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @EventListener
+    public void handleEvent(ApplicationReadyEvent applicationReadyEvent) {
+        schoolService.exportSchools(school -> schoolNameIndex.index(school.getId(), school.getName()));
+
+        log.info("School name index loaded with {} schools", schoolNameIndex.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(CreationEvent<School> schoolCreationEvent) {
+        School school = (School) schoolCreationEvent.getSource();
+        schoolNameIndex.index(school.getId(), school.getName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SchoolBatchCreationEvent schoolBatchCreationEvent) {
+        schoolBatchCreationEvent.getSchools()
+                .forEach(school -> schoolNameIndex.index(school.getId(), school.getName()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(UpdatingEvent<School> schoolUpdatingEvent) {
+        School school = (School) schoolUpdatingEvent.getSource();
+        schoolNameIndex.index(school.getId(), school.getName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SchoolDeletionEvent schoolDeletionEvent) {
+        School school = schoolDeletionEvent.getSchool();
+
+        if (school == null) {
+            log.warn("School deletion event without school, index not changed");
+            return;
+        }
+
+        schoolNameIndex.remove(school.getId());
+    }
+}
@@ -2,18 +2,25 @@ package com.forleven.school.listener;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.configuration.EventDispatchConfiguration;
 import com.forleven.school.model.School;
 
 @Slf4j
 @Component
 public class SchoolUpdateListener {
 
-    @EventListener
+    @Async(EventDispatchConfiguration.SCHOOL_EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true, condition = EventDispatchConfiguration.IN_MEMORY_DELIVERY)
     public void handleEvent(UpdatingEvent<School> schoolCreationEvent) {
+        process(schoolCreationEvent);
+    }
+
+    public void process(UpdatingEvent<School> schoolUpdatingEvent) {
         log.info("Receive a listener when create school");
     }
 }
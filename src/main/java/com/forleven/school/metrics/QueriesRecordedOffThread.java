@@ -0,0 +1,17 @@
+package com.forleven.school.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Handler whose statements run on another thread, which records school.db.queries itself
+ * (see {@link QueryCountInterceptor#record}): the request thread count is not recorded.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueriesRecordedOffThread {
+}
@@ -0,0 +1,63 @@
+package com.forleven.school.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+/**
+ * Record the number of sql statements of each request, tagged like http.server.requests.
+ * Counted by the DataSource proxy (DataSourceProxyConfiguration) by thread: the handlers running their
+ * statements on another thread are marked {@link QueriesRecordedOffThread} and that thread calls
+ * {@link #record} (e.g. ResilientSchoolService on the hystrix thread pool).
+ */
+@Component
+@ConditionalOnProperty(value = "school.datasource-proxy.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountInterceptor extends HandlerInterceptorAdapter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.clear();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+
+        if (handler instanceof HandlerMethod
+                && ((HandlerMethod) handler).hasMethodAnnotation(QueriesRecordedOffThread.class)) {
+            return;
+        }
+
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        record(request.getMethod(), uri == null ? "UNKNOWN" : uri.toString());
+    }
+
+    /**
+     * Record the statements counted on the current thread since the last clear, then clear them.
+     */
+    public void record(String method, String uri) {
+        DistributionSummary.builder("school.db.queries")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(QueryCountHolder.getGrandTotal().getTotal());
+
+        QueryCountHolder.clear();
+    }
+}
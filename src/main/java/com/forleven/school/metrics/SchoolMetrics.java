@@ -0,0 +1,38 @@
+package com.forleven.school.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.forleven.common.exception.HttpException;
+
+/**
+ * Counters of the outcomes that are not visible in http.server.requests timers.
+ */
+@Component
+public class SchoolMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Count an Either.left (or not found) outcome and return the same exception, to use inside fold/orElseThrow.
+     */
+    public <E extends HttpException> E error(String operation, E exception) {
+        meterRegistry.counter("school.errors",
+                "operation", operation,
+                "exception", exception.getClass().getSimpleName())
+                .increment();
+
+        return exception;
+    }
+
+    public void validationFailure(String operation) {
+        meterRegistry.counter("school.validation.failures", "operation", operation).increment();
+    }
+
+    public void fallback(String operation) {
+        meterRegistry.counter("school.fallbacks", "operation", operation).increment();
+    }
+}
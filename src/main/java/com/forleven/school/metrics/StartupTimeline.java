@@ -0,0 +1,80 @@
+package com.forleven.school.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * Milliseconds from the launch to each startup phase, logged once the service is ready and kept as the
+ * {@code school.startup} gauge (tag {@code phase}).
+ * <p>
+ * Registered in {@code main} by {@code SpringApplication.addListeners}, the phases before the context
+ * exists are not seen by listener beans.
+ */
+@Slf4j
+public class StartupTimeline implements ApplicationListener<ApplicationEvent> {
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private long startedAt = System.nanoTime();
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            startedAt = System.nanoTime();
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            mark("environment");
+        } else if (event instanceof ApplicationPreparedEvent) {
+            mark("context.prepared");
+        } else if (event instanceof WebServerInitializedEvent) {
+            mark("web.server");
+        } else if (event instanceof ContextRefreshedEvent) {
+            mark("context.refreshed");
+        } else if (event instanceof ApplicationStartedEvent) {
+            mark("runners");
+        } else if (event instanceof ApplicationReadyEvent) {
+            mark("ready");
+            report(((ApplicationReadyEvent) event).getApplicationContext());
+        }
+    }
+
+    public Map<String, Long> getPhases() {
+        return phases;
+    }
+
+    private void mark(String phase) {
+        phases.putIfAbsent(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void report(ConfigurableApplicationContext context) {
+        StringJoiner timeline = new StringJoiner(", ");
+        phases.forEach((phase, millis) -> timeline.add(phase + " " + millis + "ms"));
+        log.info("Startup timeline: {}", timeline);
+
+        if (context.getBeanNamesForType(MeterRegistry.class).length == 0) {
+            return;
+        }
+
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        phases.forEach((phase, millis) -> TimeGauge.builder("school.startup", phases,
+                TimeUnit.MILLISECONDS, p -> p.get(phase))
+                .tag("phase", phase)
+                .register(registry));
+    }
+}
@@ -1,20 +1,31 @@
 package com.forleven.school.model;
 
+import java.time.LocalDateTime;
+
 import javax.persistence.*;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.Wither;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import io.swagger.annotations.ApiModelProperty;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import com.forleven.common.domain.LogFields;
 
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 @Wither
 @Data
@@ -22,14 +33,22 @@ import com.forleven.common.domain.LogFields;
 @EqualsAndHashCode(callSuper = true)
 @Table(name = "school")
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = School.CACHE_REGION)
 @JsonPropertyOrder({
         "id_school",
         "name"
 })
 public class School extends LogFields {
 
+    // second level cache region, configured in ehcache.xml (used with second-level-cache profile)
+    public static final String CACHE_REGION = "school";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of identity, so hibernate can batch the inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "school_sequence")
+    @SequenceGenerator(name = "school_sequence", sequenceName = "school_sequence", allocationSize = 50)
     @Column(name = "id_school")
     @JsonProperty("id_school")
     @ApiModelProperty(position = 1, example = "1")
@@ -37,4 +56,17 @@ public class School extends LogFields {
 
     @ApiModelProperty(position = 2, example = "high school")
     private String name;
+
+    // exposed in ETag header, see SchoolETags
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    // a new school is a change since its creation too, for the change feed (GET /school/changes)
+    @PrePersist
+    void initUpdatedAt() {
+        if (getUpdatedAt() == null) {
+            setUpdatedAt(getCreatedAt() == null ? LocalDateTime.now() : getCreatedAt());
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.forleven.school.model;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * A school in the change feed, projected by the query (see SchoolRepositoryCustom#findChangedAfter).
+ */
+@Value
+@JsonPropertyOrder({
+        "id_school",
+        "name",
+        "deleted",
+        "updated_at"
+})
+public class SchoolChange {
+
+    @JsonProperty("id_school")
+    private Long id;
+
+    private String name;
+
+    private boolean deleted;
+
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    public SchoolChange(Long id, String name, Boolean status, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.deleted = !Boolean.TRUE.equals(status);
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,50 @@
+package com.forleven.school.model;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Table(name = "school_outbox")
+@Entity
+public class SchoolOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "school_outbox_sequence")
+    @SequenceGenerator(name = "school_outbox_sequence", sequenceName = "school_outbox_sequence", allocationSize = 50)
+    @Column(name = "id_school_outbox")
+    private Long id;
+
+    @Column(name = "id_school", nullable = false)
+    private Long schoolId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    public static final int PAYLOAD_LENGTH = 4000;
+
+    /**
+     * School serialized in json at the moment of the event, a json array of schools for BATCH_CREATED.
+     */
+    @Column(nullable = false, length = PAYLOAD_LENGTH)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Type {
+        CREATED,
+        BATCH_CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,35 @@
+package com.forleven.school.outbox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.model.SchoolOutboxEvent;
+
+/**
+ * Keep the delivered events in memory, stand-in of a real broker in tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(value = "school.events.outbox.sink", havingValue = "memory")
+public class InMemorySchoolOutboxSink implements SchoolOutboxSink {
+
+    private final List<SchoolOutboxEvent> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void deliver(List<SchoolOutboxEvent> events) {
+        delivered.addAll(events);
+    }
+
+    public List<SchoolOutboxEvent> getDelivered() {
+        synchronized (delivered) {
+            return new ArrayList<>(delivered);
+        }
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
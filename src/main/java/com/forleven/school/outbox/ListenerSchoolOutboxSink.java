@@ -0,0 +1,71 @@
+package com.forleven.school.outbox;
+
+import java.util.List;
+
+import lombok.SneakyThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.forleven.common.event.CreationEvent;
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.listener.SchoolCreateListener;
+import com.forleven.school.listener.SchoolDeleteListener;
+import com.forleven.school.listener.SchoolUpdateListener;
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolOutboxEvent;
+
+/**
+ * Deliver the outbox events to the school listeners, in the relay thread.
+ */
+@Component
+@ConditionalOnProperty(value = "school.events.outbox.sink", havingValue = "listener", matchIfMissing = true)
+public class ListenerSchoolOutboxSink implements SchoolOutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SchoolCreateListener schoolCreateListener;
+
+    @Autowired
+    private SchoolUpdateListener schoolUpdateListener;
+
+    @Autowired
+    private SchoolDeleteListener schoolDeleteListener;
+
+    @Override
+    public void deliver(List<SchoolOutboxEvent> events) {
+        events.forEach(this::deliver);
+    }
+
+    @SneakyThrows
+    private void deliver(SchoolOutboxEvent event) {
+        if (event.getType() == SchoolOutboxEvent.Type.BATCH_CREATED) {
+            List<School> schools = objectMapper.readValue(event.getPayload(), new TypeReference<List<School>>() { });
+
+            schoolCreateListener.process(new SchoolBatchCreationEvent(schools));
+            return;
+        }
+
+        School school = objectMapper.readValue(event.getPayload(), School.class);
+
+        switch (event.getType()) {
+            case CREATED:
+                schoolCreateListener.process(new CreationEvent<>(school));
+                break;
+            case UPDATED:
+                schoolUpdateListener.process(new UpdatingEvent<>(school));
+                break;
+            case DELETED:
+                schoolDeleteListener.process(new SchoolDeletionEvent(school));
+                break;
+        }
+    }
+}
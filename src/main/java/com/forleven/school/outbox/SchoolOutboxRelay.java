@@ -0,0 +1,62 @@
+package com.forleven.school.outbox;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.configuration.SchoolEventProperties;
+import com.forleven.school.model.SchoolOutboxEvent;
+import com.forleven.school.repository.SchoolOutboxRepository;
+
+/**
+ * Drain school_outbox in batches to the {@link SchoolOutboxSink}. The delivery is at least once:
+ * a batch is removed only after the sink accept it. Run a single relay per database,
+ * concurrent relays would deliver the same batch twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.events.outbox.enabled", havingValue = "true")
+public class SchoolOutboxRelay {
+
+    @Autowired
+    private SchoolEventProperties schoolEventProperties;
+
+    @Autowired
+    private SchoolOutboxRepository schoolOutboxRepository;
+
+    @Autowired
+    private SchoolOutboxSink schoolOutboxSink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${school.events.outbox.poll-interval:1000}")
+    public void relay() {
+        int batchSize = schoolEventProperties.getOutbox().getBatchSize();
+
+        List<SchoolOutboxEvent> batch;
+
+        do {
+            batch = schoolOutboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            schoolOutboxSink.deliver(batch);
+            schoolOutboxRepository.deleteInBatch(batch);
+
+            meterRegistry.counter("school.outbox.delivered").increment(batch.size());
+
+            log.debug("Relay {} school events from outbox", batch.size());
+        } while (batch.size() == batchSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.forleven.school.outbox;
+
+import java.util.List;
+
+import com.forleven.school.model.SchoolOutboxEvent;
+
+/**
+ * Destination of the events drained from school_outbox by {@link SchoolOutboxRelay}.
+ * A failure must be thrown, so the batch is kept in the outbox and delivered again.
+ */
+public interface SchoolOutboxSink {
+
+    void deliver(List<SchoolOutboxEvent> events);
+}
@@ -0,0 +1,108 @@
+package com.forleven.school.outbox;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.common.event.CreationEvent;
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolOutboxEvent;
+import com.forleven.school.repository.SchoolOutboxRepository;
+
+/**
+ * Write the school events in school_outbox before the commit, in the same transaction of the school.
+ * A batch creation is written as BATCH_CREATED rows, each with as many schools as the payload holds,
+ * and relayed as a {@link SchoolBatchCreationEvent} by row.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.events.outbox.enabled", havingValue = "true")
+public class SchoolOutboxWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SchoolOutboxRepository schoolOutboxRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleEvent(CreationEvent<School> schoolCreationEvent) {
+        schoolOutboxRepository.save(toOutboxEvent(SchoolOutboxEvent.Type.CREATED, (School) schoolCreationEvent.getSource()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleEvent(SchoolBatchCreationEvent schoolBatchCreationEvent) {
+        List<SchoolOutboxEvent> outboxEvents = new ArrayList<>();
+
+        Long firstSchoolId = null;
+        StringJoiner payload = batchPayload();
+
+        for (School school : schoolBatchCreationEvent.getSchools()) {
+            String json = toJson(school);
+
+            // the joiner length counts the closing bracket, plus the comma before this school
+            if (firstSchoolId != null && payload.length() + json.length() + 1 > SchoolOutboxEvent.PAYLOAD_LENGTH) {
+                outboxEvents.add(toOutboxEvent(SchoolOutboxEvent.Type.BATCH_CREATED, firstSchoolId, payload.toString()));
+
+                firstSchoolId = null;
+                payload = batchPayload();
+            }
+            if (firstSchoolId == null) {
+                firstSchoolId = school.getId();
+            }
+            payload.add(json);
+        }
+        if (firstSchoolId != null) {
+            outboxEvents.add(toOutboxEvent(SchoolOutboxEvent.Type.BATCH_CREATED, firstSchoolId, payload.toString()));
+        }
+
+        schoolOutboxRepository.saveAll(outboxEvents);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleEvent(UpdatingEvent<School> schoolUpdatingEvent) {
+        schoolOutboxRepository.save(toOutboxEvent(SchoolOutboxEvent.Type.UPDATED, (School) schoolUpdatingEvent.getSource()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleEvent(SchoolDeletionEvent schoolDeletionEvent) {
+        schoolOutboxRepository.save(toOutboxEvent(SchoolOutboxEvent.Type.DELETED, schoolDeletionEvent.getSchool()));
+    }
+
+    private SchoolOutboxEvent toOutboxEvent(SchoolOutboxEvent.Type type, School school) {
+        return toOutboxEvent(type, school.getId(), toJson(school));
+    }
+
+    private SchoolOutboxEvent toOutboxEvent(SchoolOutboxEvent.Type type, Long schoolId, String payload) {
+        return SchoolOutboxEvent.builder()
+                .schoolId(schoolId)
+                .type(type)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @SneakyThrows
+    private String toJson(School school) {
+        return objectMapper.writeValueAsString(school);
+    }
+
+    private static StringJoiner batchPayload() {
+        return new StringJoiner(",", "[", "]");
+    }
+}
@@ -0,0 +1,13 @@
+package com.forleven.school.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.forleven.school.model.SchoolOutboxEvent;
+
+public interface SchoolOutboxRepository extends JpaRepository<SchoolOutboxEvent, Long> {
+
+    List<SchoolOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
@@ -1,9 +1,54 @@
 package com.forleven.school.repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.forleven.school.model.School;
 
-public interface SchoolRepository extends JpaRepository<School, Long>, JpaSpecificationExecutor<School> {
+public interface SchoolRepository extends JpaRepository<School, Long>, JpaSpecificationExecutor<School>,
+        SchoolRepositoryCustom {
+
+    // listing is read only, hibernate don't keep snapshots to dirty checking of these schools
+
+    @Override
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<School> findAll(Pageable pageable);
+
+    @Override
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Page<School> findAll(Specification<School> spec, Pageable pageable);
+
+    /**
+     * Same as findAll(Pageable) without the COUNT query, the total comes from SchoolCounters.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = QueryHints.HINT_READONLY, value = "true"))
+    Slice<School> findAllBy(Pageable pageable);
+
+    // used by the query cache when it is enabled (second-level-cache profile), ignored otherwise
+    @Override
+    @QueryHints(@QueryHint(name = QueryHints.HINT_CACHEABLE, value = "true"))
+    Optional<School> findOne(Specification<School> spec);
+
+    /**
+     * Forward only cursor over active schools, must be consumed (and closed) inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("select s from School s where s.status = true order by s.id")
+    Stream<School> streamAllActive();
 }
@@ -0,0 +1,37 @@
+package com.forleven.school.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolChange;
+
+public interface SchoolRepositoryCustom {
+
+    /**
+     * Keyset (seek) pagination: schools matching spec with id greater than afterId, ordered by id,
+     * without OFFSET and without COUNT query.
+     */
+    Slice<School> findAllAfter(Specification<School> spec, Long afterId, int size);
+
+    /**
+     * Persist new schools flushing and clearing the persistence context at each jdbc batch size,
+     * so the inserts are sent in jdbc batches and memory stays bounded.
+     */
+    List<School> saveAllInBatches(List<School> schools);
+
+    /**
+     * Move up to batchSize schools soft deleted before deletedBefore to school_archive, in one transaction.
+     * Return the ids of the archived schools, empty when there is no more to archive.
+     */
+    List<Long> archiveDeleted(LocalDateTime deletedBefore, int batchSize);
+
+    /**
+     * Change feed: schools (active or soft deleted) modified after (since, afterId) and before until, ordered
+     * by modification time then id, by the (updated_at, id_school) index and without COUNT query.
+     */
+    Slice<SchoolChange> findChangedAfter(LocalDateTime since, Long afterId, LocalDateTime until, int size);
+}
@@ -0,0 +1,136 @@
+package com.forleven.school.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolChange;
+import com.forleven.school.model.School_;
+import com.forleven.school.specification.SchoolSpecification;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+public class SchoolRepositoryCustomImpl implements SchoolRepositoryCustom {
+
+    private static final String COPY_TO_ARCHIVE = "insert into school_archive "
+            + "(id_school, name, version, status, created_at, updated_at, archived_at) "
+            + "select id_school, name, version, status, created_at, updated_at, current_timestamp "
+            + "from school where id_school in (:schoolIds) and status = false";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public Slice<School> findAllAfter(Specification<School> spec, Long afterId, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<School> query = builder.createQuery(School.class);
+        Root<School> root = query.from(School.class);
+
+        Specification<School> seekSpec = where(spec)
+                .and(SchoolSpecification.withSchoolIdGreaterThan(afterId));
+
+        query.where(seekSpec.toPredicate(root, query, builder))
+                .orderBy(builder.asc(root.get(School_.id)));
+
+        // fetch one more row than asked to know if there is a next slice
+        List<School> schools = entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = schools.size() > size;
+
+        return new SliceImpl<>(
+                hasNext ? schools.subList(0, size) : schools,
+                PageRequest.of(0, size),
+                hasNext
+        );
+    }
+
+    @Override
+    @Transactional
+    public List<School> saveAllInBatches(List<School> schools) {
+        for (int i = 0; i < schools.size(); i++) {
+            entityManager.persist(schools.get(i));
+
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return schools;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> archiveDeleted(LocalDateTime deletedBefore, int batchSize) {
+        // by the (status, id_school) index
+        List<Long> schoolIds = entityManager.createQuery(
+                "select s.id from School s where s.status = false "
+                        + "and coalesce(s.updatedAt, s.createdAt) < :deletedBefore order by s.id",
+                Long.class)
+                .setParameter("deletedBefore", deletedBefore)
+                .setMaxResults(batchSize)
+                .getResultList();
+
+        if (schoolIds.isEmpty()) {
+            return schoolIds;
+        }
+
+        entityManager.createNativeQuery(COPY_TO_ARCHIVE)
+                .setParameter("schoolIds", schoolIds)
+                .executeUpdate();
+
+        // jpql bulk delete, so hibernate evicts the School cache regions
+        entityManager.createQuery("delete from School s where s.id in :schoolIds and s.status = false")
+                .setParameter("schoolIds", schoolIds)
+                .executeUpdate();
+
+        return schoolIds;
+    }
+
+    @Override
+    public Slice<SchoolChange> findChangedAfter(LocalDateTime since, Long afterId, LocalDateTime until, int size) {
+        List<SchoolChange> changes = entityManager.createQuery(
+                "select new com.forleven.school.model.SchoolChange(s.id, s.name, s.status, s.updatedAt) "
+                        + "from School s where (s.updatedAt > :since "
+                        + "or (s.updatedAt = :since and s.id > :afterId)) "
+                        + "and s.updatedAt < :until "
+                        + "order by s.updatedAt, s.id",
+                SchoolChange.class)
+                .setParameter("since", since)
+                .setParameter("afterId", afterId)
+                .setParameter("until", until)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = changes.size() > size;
+
+        return new SliceImpl<>(
+                hasNext ? changes.subList(0, size) : changes,
+                PageRequest.of(0, size),
+                hasNext
+        );
+    }
+}
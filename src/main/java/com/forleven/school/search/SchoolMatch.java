@@ -0,0 +1,13 @@
+package com.forleven.school.search;
+
+import lombok.Value;
+
+@Value
+public class SchoolMatch {
+
+    private Long schoolId;
+
+    private String name;
+
+    private double score;
+}
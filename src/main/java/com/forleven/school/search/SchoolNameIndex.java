@@ -0,0 +1,164 @@
+package com.forleven.school.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory trigram index of school names, for prefix and fuzzy (typo tolerant) search.
+ * Reads are lock free, writes are serialized.
+ */
+@Component
+public class SchoolNameIndex {
+
+    /**
+     * Minimum trigram similarity of a match that is not a prefix match.
+     */
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private static final double PREFIX_BONUS = 1.0;
+
+    private final Map<Long, IndexedName> names = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Long>> schoolsByTrigram = new ConcurrentHashMap<>();
+
+    public synchronized void index(Long schoolId, String name) {
+        remove(schoolId);
+
+        if (name == null) {
+            return;
+        }
+
+        IndexedName indexedName = IndexedName.of(name);
+        names.put(schoolId, indexedName);
+
+        indexedName.getTrigrams().forEach(trigram -> schoolsByTrigram
+                .computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet())
+                .add(schoolId));
+    }
+
+    public synchronized void remove(Long schoolId) {
+        IndexedName indexedName = names.remove(schoolId);
+
+        if (indexedName == null) {
+            return;
+        }
+
+        indexedName.getTrigrams().forEach(trigram -> {
+            Set<Long> schoolIds = schoolsByTrigram.get(trigram);
+
+            if (schoolIds != null) {
+                schoolIds.remove(schoolId);
+
+                if (schoolIds.isEmpty()) {
+                    schoolsByTrigram.remove(trigram);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return matches ordered by score, prefix matches first
+     */
+    public List<SchoolMatch> search(String query) {
+        String normalizedQuery = normalize(query);
+
+        if (normalizedQuery.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> queryTrigrams = trigrams(normalizedQuery);
+        Map<Long, Integer> sharedTrigrams = new HashMap<>();
+
+        queryTrigrams.forEach(trigram -> schoolsByTrigram
+                .getOrDefault(trigram, Collections.emptySet())
+                .forEach(schoolId -> sharedTrigrams.merge(schoolId, 1, Integer::sum)));
+
+        List<SchoolMatch> matches = new ArrayList<>();
+
+        sharedTrigrams.forEach((schoolId, shared) -> {
+            IndexedName indexedName = names.get(schoolId);
+
+            if (indexedName == null) {
+                return;
+            }
+
+            // normalized name and trigrams computed once by index, not by query
+            int nameTrigrams = indexedName.getTrigrams().size();
+            double similarity = (double) shared / (queryTrigrams.size() + nameTrigrams - shared);
+            boolean prefix = indexedName.hasPrefix(normalizedQuery);
+
+            if (prefix || similarity >= MIN_SIMILARITY) {
+                matches.add(new SchoolMatch(schoolId, indexedName.getName(), similarity + (prefix ? PREFIX_BONUS : 0)));
+            }
+        });
+
+        matches.sort(Comparator.comparingDouble(SchoolMatch::getScore).reversed()
+                .thenComparing(SchoolMatch::getName));
+
+        return matches;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+    }
+
+    /**
+     * Trigrams of each word padded with two spaces before and one after, like pg_trgm.
+     */
+    private static Set<String> trigrams(String normalized) {
+        return Arrays.stream(normalized.split(" "))
+                .filter(word -> !word.isEmpty())
+                .flatMap(word -> {
+                    String padded = "  " + word + " ";
+                    List<String> wordTrigrams = new ArrayList<>();
+
+                    for (int i = 0; i + 3 <= padded.length(); i++) {
+                        wordTrigrams.add(padded.substring(i, i + 3));
+                    }
+
+                    return wordTrigrams.stream();
+                })
+                .collect(Collectors.toSet());
+    }
+
+    @Value
+    private static class IndexedName {
+
+        private String name;
+
+        private String normalized;
+
+        private String[] tokens;
+
+        private Set<String> trigrams;
+
+        static IndexedName of(String name) {
+            String normalized = normalize(name);
+
+            return new IndexedName(name, normalized, normalized.split(" "), trigrams(normalized));
+        }
+
+        boolean hasPrefix(String query) {
+            return normalized.startsWith(query)
+                    || Arrays.stream(tokens).anyMatch(token -> token.startsWith(query));
+        }
+    }
+}
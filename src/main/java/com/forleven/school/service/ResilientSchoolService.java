@@ -0,0 +1,171 @@
+package com.forleven.school.service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.netflix.hystrix.HystrixCircuitBreaker;
+import com.netflix.hystrix.HystrixCommandGroupKey;
+import com.netflix.hystrix.HystrixCommandKey;
+import com.netflix.hystrix.HystrixThreadPoolKey;
+import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import reactor.core.publisher.Mono;
+import rx.Subscription;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.forleven.school.event.SchoolDeletionEvent;
+import com.forleven.school.metrics.QueryCountInterceptor;
+import com.forleven.school.metrics.SchoolMetrics;
+import com.forleven.school.model.School;
+
+/**
+ * Read path of SchoolService behind a circuit breaker, a bulkhead (hystrix thread pool) and a timeout,
+ * configured in application.yml under hystrix.command.schoolRead and hystrix.threadpool.schoolRead.
+ * When the read fails, the last known good school is served from a local stale cache.
+ * {@link #observeSchool(Long)} is the same command for the reactive endpoints, observed instead of awaited.
+ */
+@Slf4j
+@Service
+public class ResilientSchoolService {
+
+    public static final String SCHOOL_READ_COMMAND = "schoolRead";
+
+    // keys of the javanica command of getSchool, so both share the settings, circuit and thread pool
+    private static final com.netflix.hystrix.HystrixCommand.Setter SCHOOL_READ_SETTER =
+            com.netflix.hystrix.HystrixCommand.Setter
+                    .withGroupKey(HystrixCommandGroupKey.Factory.asKey(ResilientSchoolService.class.getSimpleName()))
+                    .andCommandKey(HystrixCommandKey.Factory.asKey(SCHOOL_READ_COMMAND))
+                    .andThreadPoolKey(HystrixThreadPoolKey.Factory.asKey(SCHOOL_READ_COMMAND));
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private SchoolMetrics schoolMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private QueryCountInterceptor queryCountInterceptor;
+
+    @Value("${school.resilience.stale-cache.maximum-size:10000}")
+    private long staleCacheMaximumSize;
+
+    @Value("${school.resilience.stale-cache.expire-after-write-minutes:1440}")
+    private long staleCacheExpireAfterWriteMinutes;
+
+    private Cache<Long, School> staleSchools;
+
+    @PostConstruct
+    public void setUp() {
+        staleSchools = Caffeine.newBuilder()
+                .maximumSize(staleCacheMaximumSize)
+                .expireAfterWrite(staleCacheExpireAfterWriteMinutes, TimeUnit.MINUTES)
+                .build();
+
+        Gauge.builder("school.read.circuit.open", this, service -> service.isCircuitOpen() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("school.read.stale.size", staleSchools, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @HystrixCommand(
+            commandKey = SCHOOL_READ_COMMAND,
+            threadPoolKey = SCHOOL_READ_COMMAND,
+            fallbackMethod = "fallbackGetSchool")
+    public Optional<SchoolRead> getSchool(Long schoolId) {
+        return readSchool(schoolId, "/school/{schoolId}");
+    }
+
+    /**
+     * Read of the school run by the hystrix thread pool, the subscriber is called back from it.
+     */
+    public Mono<Optional<SchoolRead>> observeSchool(Long schoolId) {
+        com.netflix.hystrix.HystrixCommand<Optional<SchoolRead>> command =
+                new com.netflix.hystrix.HystrixCommand<Optional<SchoolRead>>(SCHOOL_READ_SETTER) {
+
+                    @Override
+                    protected Optional<SchoolRead> run() {
+                        return readSchool(schoolId, "/reactive/school/{schoolId}");
+                    }
+
+                    @Override
+                    protected Optional<SchoolRead> getFallback() {
+                        return fallbackGetSchool(schoolId, getExecutionException());
+                    }
+                };
+
+        return Mono.create(sink -> {
+            Subscription subscription = command.toObservable().subscribe(sink::success, sink::error);
+            sink.onDispose(subscription::unsubscribe);
+        });
+    }
+
+    private Optional<SchoolRead> readSchool(Long schoolId, String uri) {
+        Optional<School> school;
+
+        try {
+            school = schoolService.getSchool(schoolId);
+        } finally {
+            // statements are counted by thread: recorded here for the read endpoints, not by the request thread
+            if (queryCountInterceptor != null) {
+                queryCountInterceptor.record("GET", uri);
+            }
+            QueryCountHolder.clear();
+        }
+
+        if (school.isPresent()) {
+            staleSchools.put(schoolId, school.get());
+        } else {
+            staleSchools.invalidate(schoolId);
+        }
+
+        return school.map(SchoolRead::fresh);
+    }
+
+    public Optional<SchoolRead> fallbackGetSchool(Long schoolId, Throwable throwable) {
+        log.error("Fail to read school, serving stale cache", throwable);
+
+        schoolMetrics.fallback("getSchool");
+
+        School staleSchool = staleSchools.getIfPresent(schoolId);
+
+        return Optional.of(staleSchool == null
+                ? SchoolRead.unavailable()
+                : SchoolRead.stale(staleSchool));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleEvent(SchoolDeletionEvent schoolDeletionEvent) {
+        School school = schoolDeletionEvent.getSchool();
+
+        if (school == null) {
+            log.warn("School deletion event without school, stale cache not changed");
+            return;
+        }
+
+        staleSchools.invalidate(school.getId());
+    }
+
+    public boolean isCircuitOpen() {
+        HystrixCircuitBreaker circuitBreaker = HystrixCircuitBreaker.Factory
+                .getInstance(HystrixCommandKey.Factory.asKey(SCHOOL_READ_COMMAND));
+
+        return circuitBreaker != null && circuitBreaker.isOpen();
+    }
+}
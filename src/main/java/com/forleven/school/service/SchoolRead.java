@@ -0,0 +1,42 @@
+package com.forleven.school.service;
+
+import lombok.Value;
+
+import com.forleven.school.model.School;
+
+/**
+ * Result of a resilient read of School, telling where the school came from.
+ */
+@Value
+public class SchoolRead {
+
+    public enum Source {
+        DATABASE,
+        STALE_CACHE,
+        UNAVAILABLE
+    }
+
+    private Source source;
+
+    private School school;
+
+    public static SchoolRead fresh(School school) {
+        return new SchoolRead(Source.DATABASE, school);
+    }
+
+    public static SchoolRead stale(School school) {
+        return new SchoolRead(Source.STALE_CACHE, school);
+    }
+
+    public static SchoolRead unavailable() {
+        return new SchoolRead(Source.UNAVAILABLE, null);
+    }
+
+    public boolean isStale() {
+        return source == Source.STALE_CACHE;
+    }
+
+    public boolean isAvailable() {
+        return source != Source.UNAVAILABLE;
+    }
+}
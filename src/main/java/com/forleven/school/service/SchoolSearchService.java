@@ -0,0 +1,72 @@
+package com.forleven.school.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.forleven.common.fn.Lambda;
+import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+import com.forleven.school.search.SchoolMatch;
+import com.forleven.school.search.SchoolNameIndex;
+import com.forleven.school.specification.SchoolSpecification;
+
+import static org.springframework.data.jpa.domain.Specification.where;
+
+@Slf4j
+@Service
+public class SchoolSearchService {
+
+    @Autowired
+    private SchoolNameIndex schoolNameIndex;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    /**
+     * Rank schools by name in the index and load only the schools of the requested page, in the rank order.
+     */
+    @Timed("school.service")
+    @Transactional(readOnly = true)
+    public Optional<Page<School>> searchSchools(String query, Pageable pageable) {
+        List<SchoolMatch> matches = schoolNameIndex.search(query);
+
+        List<Long> schoolIds = matches.stream()
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : matches.size())
+                .map(SchoolMatch::getSchoolId)
+                .collect(Collectors.toList());
+
+        if (schoolIds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Specification<School> spec = where(SchoolSpecification.withSchoolIdIn(schoolIds))
+                .and(GeneralSpecification.hasStatusActive());
+
+        Map<Long, School> schoolsById = schoolRepository.findAll(spec).stream()
+                .collect(Collectors.toMap(School::getId, Function.identity()));
+
+        List<School> schools = schoolIds.stream()
+                .map(schoolsById::get)
+                .filter(school -> school != null)
+                .collect(Collectors.toList());
+
+        return Lambda.toOptionalSpec(new PageImpl<>(schools, pageable, matches.size()));
+    }
+}
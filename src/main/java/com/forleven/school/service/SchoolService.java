@@ -1,17 +1,32 @@
 package com.forleven.school.service;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
 import lombok.extern.slf4j.Slf4j;
 
+import io.micrometer.core.annotation.Timed;
 import io.vavr.control.Either;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.forleven.common.event.CreationEvent;
 import com.forleven.common.event.UpdatingEvent;
@@ -19,8 +34,14 @@ import com.forleven.common.exception.HttpException;
 import com.forleven.common.exception.NotFoundException;
 import com.forleven.common.fn.Lambda;
 import com.forleven.common.specification.GeneralSpecification;
+import com.forleven.school.aggregate.SchoolAggregates;
+import com.forleven.school.aggregate.SchoolCounters;
+import com.forleven.school.configuration.CacheConfiguration;
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.event.SchoolDeletionEvent;
 import com.forleven.school.form.SchoolForm;
 import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolChange;
 import com.forleven.school.repository.SchoolRepository;
 import com.forleven.school.specification.SchoolSpecification;
 
@@ -30,34 +51,120 @@ import static org.springframework.data.jpa.domain.Specification.where;
 @Service
 public class SchoolService {
 
+    private static final String SERVICE_TIMER = "school.service";
+
     @Autowired
     private ApplicationEventPublisher publisher;
 
     @Autowired
     private SchoolRepository schoolRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // the change feed stays this behind now, see getChanges
+    @Value("${school.changes.safety-lag-ms:5000}")
+    private long changesSafetyLagMillis;
+
+    // present when school.counters.enabled, the lists use its total instead of a COUNT query
+    @Autowired(required = false)
+    private SchoolCounters schoolCounters;
+
+    // concurrent identical reads run the query once, see getSchool(Long) and getSchools(Pageable)
+    private final SingleFlight<Long, Optional<School>> schoolFlights = new SingleFlight<>();
+
+    private final SingleFlight<Pageable, Optional<Page<School>>> pageFlights = new SingleFlight<>();
+
+    /**
+     * Not transactional on purpose: the callers waiting for a query in flight must not hold a connection,
+     * the repository call opens its own read only transaction.
+     */
+    @Timed(SERVICE_TIMER)
     public Optional<Page<School>> getSchools(Pageable pageable) {
-        return Lambda.toOptionalSpec(schoolRepository.findAll(pageable));
+        return pageFlights.execute(pageable, () -> Lambda.toOptionalSpec(findPage(pageable)));
     }
 
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
     public Optional<Page<School>> getSchools(Specification<School> spec,
                                              Pageable pageable) {
 
         return Lambda.toOptionalSpec(schoolRepository.findAll(spec, pageable));
     }
 
-    public Optional<School> getSchool(Long schoolId) {
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Optional<Slice<School>> getSchools(Specification<School> spec,
+                                              Long afterSchoolId,
+                                              int size) {
 
-        Specification<School> spec = where(SchoolSpecification.withSchoolId(schoolId))
-                .and(GeneralSpecification.hasStatusActive());
+        return Optional.of(schoolRepository.findAllAfter(spec, afterSchoolId, size))
+                .filter(Slice::hasContent);
+    }
 
-        return getSchool(spec);
+    /**
+     * Cached, and on a miss concurrent calls for the same school share one query (not transactional,
+     * as getSchools(Pageable)). The result is shared: changes go by {@link #findActiveSchool(Long)}.
+     */
+    @Timed(SERVICE_TIMER)
+    @Cacheable(cacheNames = CacheConfiguration.SCHOOL_CACHE, key = "#schoolId", unless = "#result == null")
+    public Optional<School> getSchool(Long schoolId) {
+        return schoolFlights.execute(schoolId, () -> findActiveSchool(schoolId));
     }
 
+    @Timed(SERVICE_TIMER)
     public Optional<School> getSchool(Specification<School> spec) {
         return schoolRepository.findOne(spec);
     }
 
+    /**
+     * Schools created, updated or deleted after (since, afterSchoolId), see {@link SchoolRepository#findChangedAfter}.
+     * <p>
+     * updated_at is set at flush, a transaction can commit after a reader moved past it: only the changes older
+     * than school.changes.safety-lag-ms are returned, so the ones still in flight are not skipped (longer
+     * transactions or clock skew between the nodes above the lag still are).
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public Slice<SchoolChange> getChanges(LocalDateTime since, Long afterSchoolId, int size) {
+        LocalDateTime until = LocalDateTime.now().minus(changesSafetyLagMillis, ChronoUnit.MILLIS);
+
+        return schoolRepository.findChangedAfter(since, afterSchoolId, until, size);
+    }
+
+    /**
+     * From the counters when present (and counted), COUNT queries otherwise.
+     */
+    @Timed(SERVICE_TIMER)
+    public SchoolAggregates getAggregates() {
+        Optional<SchoolAggregates> aggregates = schoolCounters == null
+                ? Optional.empty()
+                : schoolCounters.getAggregates();
+
+        return aggregates.orElseGet(() -> new SchoolAggregates(
+                schoolRepository.count(),
+                schoolRepository.count(GeneralSpecification.hasStatusActive()),
+                null,
+                null));
+    }
+
+    /**
+     * Give each active school to consumer, detaching it right after, so memory stays constant
+     * regardless the number of schools.
+     */
+    @Timed(SERVICE_TIMER)
+    @Transactional(readOnly = true)
+    public void exportSchools(Consumer<School> consumer) {
+        try (Stream<School> schools = schoolRepository.streamAllActive()) {
+            schools.forEach(school -> {
+                consumer.accept(school);
+                entityManager.detach(school);
+            });
+        }
+    }
+
+    @Timed(SERVICE_TIMER)
+    @Transactional
     public Either<HttpException, School> saveSchool(SchoolForm schoolForm) {
 
         // business logic, eventual return Either.left(a http exception e.g new ConflictException)
@@ -73,8 +180,27 @@ public class SchoolService {
         return Either.right(schoolSaved);
     }
 
+    @Timed(SERVICE_TIMER)
+    @Transactional
+    public Either<HttpException, List<School>> saveSchools(List<SchoolForm> schoolForms) {
+
+        List<School> schoolsToSave = schoolForms.stream()
+                .map(schoolForm -> School.builder()
+                        .name(schoolForm.getName())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<School> schoolsSaved = schoolRepository.saveAllInBatches(schoolsToSave);
+
+        publisher.publishEvent(new SchoolBatchCreationEvent(schoolsSaved));
+
+        return Either.right(schoolsSaved);
+    }
+
+    @Timed(SERVICE_TIMER)
+    @Transactional
     public Either<HttpException, School> updateSchool(School school) {
-        Optional<School> schoolNullable = getSchool(school.getId());
+        Optional<School> schoolNullable = findActiveSchool(school.getId());
 
         if (!schoolNullable.isPresent()) {
             // here use a i18n code (in messages folder)
@@ -84,6 +210,11 @@ public class SchoolService {
         School schoolToUpdate = schoolNullable.get()
                 .withName(school.getName());
 
+        if (school.getVersion() != null) {
+            // version expected by client (If-Match), a different one fails the merge with optimistic lock
+            schoolToUpdate = schoolToUpdate.withVersion(school.getVersion());
+        }
+
         School schoolUpdated = schoolRepository.save(schoolToUpdate);
 
         publisher.publishEvent(new UpdatingEvent<>(schoolUpdated));
@@ -91,8 +222,10 @@ public class SchoolService {
         return Either.right(schoolUpdated);
     }
 
+    @Timed(SERVICE_TIMER)
+    @Transactional
     public Optional<HttpException> deleteSchool(Long schoolId) {
-        Optional<School> schoolNullable = getSchool(schoolId);
+        Optional<School> schoolNullable = findActiveSchool(schoolId);
 
         if (!schoolNullable.isPresent()) {
             return Optional.of(new NotFoundException("school.not_found"));
@@ -100,9 +233,33 @@ public class SchoolService {
 
         schoolNullable.ifPresent(schoolToDelete -> {
             schoolToDelete.setStatus(false);
-            schoolRepository.save(schoolToDelete);
+            School schoolDeleted = schoolRepository.save(schoolToDelete);
+
+            publisher.publishEvent(new SchoolDeletionEvent(schoolDeleted));
         });
 
         return Optional.empty();
     }
+
+    private Optional<School> findActiveSchool(Long schoolId) {
+
+        Specification<School> spec = where(SchoolSpecification.withSchoolId(schoolId))
+                .and(GeneralSpecification.hasStatusActive());
+
+        return getSchool(spec);
+    }
+
+    private Page<School> findPage(Pageable pageable) {
+        Optional<Long> total = schoolCounters == null || pageable.isUnpaged()
+                ? Optional.empty()
+                : schoolCounters.getTotal();
+
+        if (!total.isPresent()) {
+            return schoolRepository.findAll(pageable);
+        }
+
+        Slice<School> slice = schoolRepository.findAllBy(pageable);
+
+        return new PageImpl<>(slice.getContent(), pageable, total.get());
+    }
 }
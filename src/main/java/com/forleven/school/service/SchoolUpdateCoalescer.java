@@ -0,0 +1,68 @@
+package com.forleven.school.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.forleven.school.model.School;
+
+/**
+ * Group the updates of the same school received in a window and apply only the last one:
+ * one UPDATE (of changed columns, School is @DynamicUpdate) and one UpdatingEvent per school per flush.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "school.coalescing.enabled", havingValue = "true")
+public class SchoolUpdateCoalescer {
+
+    private final Map<Long, School> pendingUpdates = new ConcurrentHashMap<>();
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void submit(School school) {
+        School replaced = pendingUpdates.put(school.getId(), school);
+
+        if (replaced != null) {
+            meterRegistry.counter("school.coalescing.replaced").increment();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${school.coalescing.window:50}")
+    public void flush() {
+        for (Long schoolId : pendingUpdates.keySet()) {
+            School school = pendingUpdates.remove(schoolId);
+
+            if (school == null) {
+                continue;
+            }
+
+            try {
+                schoolService.updateSchool(school)
+                        .peekLeft(error -> log.error("Fail to apply coalesced update of school {}", schoolId));
+
+                meterRegistry.counter("school.coalescing.flushed").increment();
+            } catch (RuntimeException e) {
+                log.error("Fail to apply coalesced update of school {}", schoolId, e);
+            }
+        }
+    }
+
+    public int pending() {
+        return pendingUpdates.size();
+    }
+}
@@ -1,5 +1,7 @@
 package com.forleven.school.specification;
 
+import java.util.Collection;
+
 import org.springframework.data.jpa.domain.Specification;
 
 import com.forleven.school.model.School;
@@ -15,4 +17,15 @@ public class SchoolSpecification {
         return (root, query, builder) ->
                 builder.equal(root.get(School_.id), schoolId);
     }
+
+    public static Specification<School> withSchoolIdGreaterThan(Long schoolId) {
+        return (root, query, builder) -> schoolId == null
+                ? builder.conjunction()
+                : builder.greaterThan(root.get(School_.id), schoolId);
+    }
+
+    public static Specification<School> withSchoolIdIn(Collection<Long> schoolIds) {
+        return (root, query, builder) ->
+                root.get(School_.id).in(schoolIds);
+    }
 }
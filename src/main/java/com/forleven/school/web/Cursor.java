@@ -0,0 +1,41 @@
+package com.forleven.school.web;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque cursor of keyset pagination, the client only send back what it received.
+ */
+public class Cursor {
+
+    private static final String PREFIX = "after:";
+
+    private Cursor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String encode(Long afterId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return empty when cursor is blank (first page)
+     * @throws IllegalArgumentException when cursor was not produced by {@link #encode(Long)}
+     */
+    public static Optional<Long> decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        return Optional.of(Long.valueOf(decoded.substring(PREFIX.length())));
+    }
+}
@@ -0,0 +1,41 @@
+package com.forleven.school.web;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import org.springframework.data.domain.Slice;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonPropertyOrder({
+        "content",
+        "size",
+        "next_cursor"
+})
+public class CursorResources<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    public static <T> CursorResources<T> of(Slice<T> slice, Function<T, Long> idExtractor) {
+        List<T> content = slice.getContent();
+
+        String nextCursor = slice.hasNext()
+                ? Cursor.encode(idExtractor.apply(content.get(content.size() - 1)))
+                : null;
+
+        return new CursorResources<>(content, content.size(), nextCursor);
+    }
+}
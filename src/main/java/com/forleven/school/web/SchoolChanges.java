@@ -0,0 +1,60 @@
+package com.forleven.school.web;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import org.springframework.data.domain.Slice;
+
+import com.forleven.school.model.SchoolChange;
+
+/**
+ * A page of the change feed: pass next_since and next_after_id back to get the following changes,
+ * when has_next is false they are the point to pull from later.
+ * <p>
+ * Deleted schools leave the feed once archived (school.archive.retention-days): a client whose point is
+ * older than the retention must list all the schools again.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonPropertyOrder({
+        "content",
+        "size",
+        "has_next",
+        "next_since",
+        "next_after_id"
+})
+public class SchoolChanges {
+
+    private List<SchoolChange> content;
+
+    private int size;
+
+    @JsonProperty("has_next")
+    private boolean hasNext;
+
+    @JsonProperty("next_since")
+    private LocalDateTime nextSince;
+
+    @JsonProperty("next_after_id")
+    private Long nextAfterId;
+
+    public static SchoolChanges of(Slice<SchoolChange> slice, LocalDateTime since, Long afterId) {
+        List<SchoolChange> changes = slice.getContent();
+
+        if (changes.isEmpty()) {
+            return new SchoolChanges(changes, 0, false, since, afterId);
+        }
+
+        SchoolChange last = changes.get(changes.size() - 1);
+
+        return new SchoolChanges(changes, changes.size(), slice.hasNext(), last.getUpdatedAt(), last.getId());
+    }
+}
@@ -0,0 +1,71 @@
+package com.forleven.school.web;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import com.forleven.school.model.School;
+
+/**
+ * Validators of conditional requests: strong ETag from id and version of School,
+ * Last-Modified from the audit timestamp of LogFields.
+ */
+public class SchoolETags {
+
+    private SchoolETags() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String of(School school) {
+        return "\"" + school.getId() + "-" + school.getVersion() + "\"";
+    }
+
+    public static String of(Page<School> page) {
+        StringBuilder validator = new StringBuilder()
+                .append(page.getNumber()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page.getTotalElements());
+
+        page.getContent().forEach(school -> validator.append(':').append(of(school)));
+
+        return "\"" + DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * @return version of school in the If-Match ETag, empty when it is not an ETag of this school
+     */
+    public static Optional<Long> versionOf(String eTag, Long schoolId) {
+        String prefix = "\"" + schoolId + "-";
+
+        if (eTag == null || !eTag.startsWith(prefix) || !eTag.endsWith("\"")) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Long.valueOf(eTag.substring(prefix.length(), eTag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return epoch millis of the last change, -1 when unknown (header is not sent)
+     */
+    public static long lastModified(School school) {
+        LocalDateTime updatedAt = school.getUpdatedAt();
+
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static long lastModified(Collection<School> schools) {
+        return schools.stream()
+                .mapToLong(SchoolETags::lastModified)
+                .max()
+                .orElse(-1);
+    }
+}
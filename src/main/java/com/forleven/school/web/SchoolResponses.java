@@ -0,0 +1,54 @@
+package com.forleven.school.web;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.forleven.common.fn.Lambda;
+import com.forleven.common.web.Resources;
+import com.forleven.school.model.School;
+import com.forleven.school.service.SchoolRead;
+
+/**
+ * Responses of the school reads shared by /school and /reactive/school, with their validators.
+ */
+public class SchoolResponses {
+
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private SchoolResponses() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * With ETag and Last-Modified set, spring answers 304 to a matching conditional request without serializing.
+     */
+    public static ResponseEntity<Resources<School>> of(Page<School> page) {
+        return ResponseEntity.ok()
+                .eTag(SchoolETags.of(page))
+                .lastModified(SchoolETags.lastModified(page.getContent()))
+                .body(Lambda.toResponse(page).getBody());
+    }
+
+    /**
+     * 503 when the read is unavailable, Warning header when it is a stale copy.
+     */
+    public static ResponseEntity<School> of(SchoolRead schoolRead) {
+        if (!schoolRead.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        School school = schoolRead.getSchool();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(SchoolETags.of(school))
+                .lastModified(SchoolETags.lastModified(school));
+
+        if (schoolRead.isStale()) {
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+
+        return response.body(school);
+    }
+}
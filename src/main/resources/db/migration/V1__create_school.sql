@@ -0,0 +1,24 @@
+-- schema of the entities, the migrations start from an empty database
+
+create sequence if not exists school_sequence start with 1 increment by 50;
+
+create table if not exists school (
+    id_school bigint not null,
+    name varchar(255),
+    version bigint,
+    status boolean,
+    created_at timestamp,
+    updated_at timestamp,
+    primary key (id_school)
+);
+
+create sequence if not exists school_outbox_sequence start with 1 increment by 50;
+
+create table if not exists school_outbox (
+    id_school_outbox bigint not null,
+    id_school bigint not null,
+    type varchar(16) not null,
+    payload varchar(4000) not null,
+    created_at timestamp not null,
+    primary key (id_school_outbox)
+);
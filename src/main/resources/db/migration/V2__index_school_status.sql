@@ -0,0 +1,3 @@
+-- active reads filter by status and order by id: the index skips the soft deleted rows instead of scanning them.
+-- on postgresql a partial index is smaller: create index ... on school (id_school) where status = true
+create index if not exists idx_school_status_id on school (status, id_school);
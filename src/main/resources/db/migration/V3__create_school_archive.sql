@@ -0,0 +1,12 @@
+-- soft deleted schools moved out of school by SchoolArchiver after school.archive.retention-days
+
+create table if not exists school_archive (
+    id_school bigint not null,
+    name varchar(255),
+    version bigint,
+    status boolean,
+    created_at timestamp,
+    updated_at timestamp,
+    archived_at timestamp not null,
+    primary key (id_school)
+);
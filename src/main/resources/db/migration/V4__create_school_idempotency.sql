@@ -0,0 +1,12 @@
+-- idempotency keys of POST /school shared by the nodes (school.idempotency.store: jdbc)
+
+create table if not exists school_idempotency (
+    idempotency_key varchar(255) not null,
+    fingerprint varchar(64) not null,
+    status integer,
+    body varchar(4000),
+    created_at timestamp not null,
+    primary key (idempotency_key)
+);
+
+create index if not exists idx_school_idempotency_created_at on school_idempotency (created_at);
@@ -0,0 +1,2 @@
+-- change feed (GET /school/changes) reads by modification time then id
+create index if not exists idx_school_updated_at_id on school (updated_at, id_school);
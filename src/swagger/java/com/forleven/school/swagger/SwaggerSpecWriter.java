@@ -0,0 +1,44 @@
+package com.forleven.school.swagger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import com.forleven.school.SchoolApplication;
+
+/**
+ * Writes the API spec to the path in the first argument, run before packaging by the {@code swagger-spec}
+ * profile: it lands in the jar as {@code static/swagger.json}, served when springfox is disabled at runtime.
+ */
+public class SwaggerSpecWriter {
+
+    public static void main(String[] args) throws Exception {
+        Path spec = Paths.get(args[0]);
+
+        String json;
+        try (ConfigurableApplicationContext context = SpringApplication.run(SchoolApplication.class,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--school.swagger.enabled=true",
+                "--school.seed.enabled=false")) {
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            json = new RestTemplate().getForObject("http://localhost:" + port + "/v2/api-docs", String.class);
+        }
+
+        if (json == null || !json.contains("\"/school/{schoolId}\"")) {
+            throw new IllegalStateException("API spec without the school endpoints");
+        }
+
+        Files.createDirectories(spec.toAbsolutePath().getParent());
+        Files.write(spec, json.getBytes(StandardCharsets.UTF_8));
+
+        System.exit(0);
+    }
+}
@@ -0,0 +1,89 @@
+package com.forleven.school.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.forleven.school.configuration.AdmissionControlProperties;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return limiter(initialLimit, 0);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, long backoffWindowMs) {
+        AdmissionControlProperties.Concurrency properties = new AdmissionControlProperties.Concurrency();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(10);
+        properties.setLatencyThresholdMs(100);
+        properties.setBackoffRatio(0.5);
+        properties.setBackoffWindowMs(backoffWindowMs);
+
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+
+    @Test
+    public void testRejectOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void testSlowRequestsCutTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW, true);
+
+        assertEquals(4, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, false);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void testOneCutByWindow() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, TimeUnit.MINUTES.toMillis(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(SLOW, true);
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testFastRequestsGrowTheLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, true);
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
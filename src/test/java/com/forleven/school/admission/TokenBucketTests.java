@@ -0,0 +1,45 @@
+package com.forleven.school.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRate() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+
+        // one token back each 100ms
+        assertFalse(bucket.tryAcquire(SECOND / 20));
+        assertTrue(bucket.tryAcquire(SECOND / 10));
+        assertFalse(bucket.tryAcquire(SECOND / 10));
+    }
+
+    @Test
+    public void testRefillIsCappedByBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        assertTrue(bucket.tryAcquire(10 * SECOND));
+        assertTrue(bucket.tryAcquire(10 * SECOND));
+        assertFalse(bucket.tryAcquire(10 * SECOND));
+    }
+
+    @Test
+    public void testWaitNanos() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertEquals(0, bucket.waitNanos(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertEquals(SECOND / 10, bucket.waitNanos(0));
+    }
+}
@@ -0,0 +1,57 @@
+package com.forleven.school.configuration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import com.forleven.school.form.SchoolForm;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BinaryFormatConfigurationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testGetSchoolsAsSmile() throws Exception {
+        byte[] body = mockMvc.perform(get("/school").param("size", "2")
+                .accept(BinaryFormatConfiguration.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatConfiguration.APPLICATION_SMILE_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode schools = new ObjectMapper(new SmileFactory()).readTree(body);
+
+        assertNotNull(schools.findValue("id_school"));
+    }
+
+    @Test
+    public void testSaveSchoolFromCbor() throws Exception {
+        byte[] body = new ObjectMapper(new CBORFactory())
+                .writeValueAsBytes(SchoolForm.builder().name("cbor school").build());
+
+        mockMvc.perform(post("/school")
+                .contentType(BinaryFormatConfiguration.APPLICATION_CBOR_VALUE)
+                .content(body))
+                .andExpect(status().isAccepted());
+    }
+}
@@ -0,0 +1,142 @@
+package com.forleven.school.configuration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.junit.Assert.*;
+
+public class EventDispatchConfigurationTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+
+    private ThreadPoolTaskExecutor executor;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testAbortRejects() {
+        fillExecutor(SchoolEventProperties.RejectionPolicy.ABORT);
+
+        try {
+            executor.execute(task("rejected"));
+            fail("Full executor must reject with the abort policy");
+        } catch (TaskRejectedException e) {
+            assertEquals(1, meterRegistry.get("school.events.rejected").counter().count(), 0);
+        }
+    }
+
+    @Test
+    public void testCallerRunsRejected() {
+        fillExecutor(SchoolEventProperties.RejectionPolicy.CALLER_RUNS);
+
+        executor.execute(() -> ran.add(Thread.currentThread().getName()));
+
+        assertEquals(1, ran.size());
+        assertEquals(Thread.currentThread().getName(), ran.get(0));
+        assertEquals(1, meterRegistry.get("school.events.rejected").counter().count(), 0);
+    }
+
+    @Test
+    public void testDiscardDropsRejected() throws Exception {
+        fillExecutor(SchoolEventProperties.RejectionPolicy.DISCARD);
+
+        executor.execute(task("rejected"));
+        drain();
+
+        assertEquals(2, ran.size());
+        assertFalse(ran.contains("rejected"));
+        assertEquals(1, meterRegistry.get("school.events.rejected").counter().count(), 0);
+    }
+
+    @Test
+    public void testDiscardOldestDropsQueued() throws Exception {
+        fillExecutor(SchoolEventProperties.RejectionPolicy.DISCARD_OLDEST);
+
+        executor.execute(task("rejected"));
+        drain();
+
+        assertEquals(2, ran.size());
+        assertFalse(ran.contains("queued"));
+        assertTrue(ran.contains("rejected"));
+        assertEquals(1, meterRegistry.get("school.events.rejected").counter().count(), 0);
+    }
+
+    @Test
+    public void testQueueDepthAndLag() throws Exception {
+        fillExecutor(SchoolEventProperties.RejectionPolicy.CALLER_RUNS);
+
+        assertEquals(1, meterRegistry.get("school.events.queue.depth").gauge().value(), 0);
+        assertEquals(1, meterRegistry.get("school.events.active").gauge().value(), 0);
+
+        drain();
+
+        assertEquals(0, meterRegistry.get("school.events.queue.depth").gauge().value(), 0);
+        assertEquals(2, meterRegistry.get("school.events.lag").timer().count());
+    }
+
+    /**
+     * One task running (blocked until drain) and one queued, the next one is rejected.
+     */
+    private void fillExecutor(SchoolEventProperties.RejectionPolicy rejectionPolicy) {
+        SchoolEventProperties properties = new SchoolEventProperties();
+        properties.getAsync().setCorePoolSize(1);
+        properties.getAsync().setMaxPoolSize(1);
+        properties.getAsync().setQueueCapacity(1);
+        properties.getAsync().setRejectionPolicy(rejectionPolicy);
+
+        executor = new EventDispatchConfiguration().schoolEventExecutor(properties, meterRegistry);
+        executor.initialize();
+
+        CountDownLatch running = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            running.countDown();
+            awaitRelease();
+            ran.add("running");
+        });
+        executor.execute(task("queued"));
+
+        try {
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private Runnable task(String name) {
+        return () -> ran.add(name);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
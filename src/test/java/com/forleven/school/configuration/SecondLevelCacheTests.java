@@ -0,0 +1,32 @@
+package com.forleven.school.configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+/**
+ * Without the second-level-cache profile School is not cached by hibernate, only by the spring cache.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SecondLevelCacheTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testSecondLevelCacheDisabledByDefault() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        assertFalse(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        assertFalse(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled());
+        assertEquals("NONE", sessionFactory.getProperties().get("javax.persistence.sharedCache.mode"));
+    }
+}
@@ -0,0 +1,38 @@
+package com.forleven.school.configuration;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The API spec written to the jar by the build ({@code swagger-spec} profile) has the school endpoints only.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SwaggerSpecTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testSwaggerSpec() throws Exception {
+        String spec = mockMvc.perform(get("/v2/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertTrue(spec.contains("\"/school/{schoolId}\""));
+        assertTrue(spec.contains("\"/reactive/school/{schoolId}\""));
+        assertFalse(spec.contains("\"/error\""));
+    }
+}
@@ -0,0 +1,128 @@
+package com.forleven.school.idempotency;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.forleven.school.form.SchoolForm;
+
+import static org.junit.Assert.*;
+
+public class IdempotentRequestsTests {
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(60, 100, 30);
+
+    private final IdempotentRequests idempotentRequests =
+            new IdempotentRequests(store, new ObjectMapper(), new SimpleMeterRegistry());
+
+    private final SchoolForm schoolForm = SchoolForm.builder().name("my pretty school").build();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private ResponseEntity accept() {
+        executions.incrementAndGet();
+        return ResponseEntity.accepted().build();
+    }
+
+    @Test
+    public void testRetryIsReplayed() {
+        ResponseEntity first = idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+        ResponseEntity retry = idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.ACCEPTED, first.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, retry.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void testOtherKeyExecutes() {
+        idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+        idempotentRequests.execute("saveSchool", "key-2", schoolForm, this::accept);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testSameKeyOtherBody() {
+        idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        ResponseEntity response = idempotentRequests.execute("saveSchool", "key-1",
+                schoolForm.withName("another school"), this::accept);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+
+    @Test
+    public void testSameKeyInProgress() {
+        store.claim("saveSchool:key-1", IdempotencyRecord.inProgress(fingerprintOf(schoolForm)));
+
+        ResponseEntity response = idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        assertEquals(0, executions.get());
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    public void testAbandonedClaimIsTakenOver() {
+        IdempotencyRecord abandoned = new IdempotencyRecord(fingerprintOf(schoolForm), null, null,
+                Instant.now().minusSeconds(60));
+        store.claim("saveSchool:key-1", abandoned);
+
+        ResponseEntity response = idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+
+        // the lost request completing late doesn't replace the response of the retry
+        store.complete("saveSchool:key-1", abandoned.complete(500, null));
+
+        ResponseEntity retry = idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.ACCEPTED, retry.getStatusCode());
+    }
+
+    @Test
+    public void testFailureReleasesTheKey() {
+        try {
+            idempotentRequests.execute("saveSchool", "key-1", schoolForm, () -> {
+                throw new IllegalStateException("database down");
+            });
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            // retry below
+        }
+
+        idempotentRequests.execute("saveSchool", "key-1", schoolForm, this::accept);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testInvalidKey() {
+        ResponseEntity response = idempotentRequests.execute("saveSchool", "", schoolForm, this::accept);
+
+        assertEquals(0, executions.get());
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private String fingerprintOf(SchoolForm form) {
+        try {
+            return DigestUtils.md5DigestAsHex(new ObjectMapper().writeValueAsBytes(form));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.forleven.school.listener;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.forleven.school.configuration.EventDispatchConfiguration;
+
+import static org.junit.Assert.*;
+
+/**
+ * The listeners annotated like the school listeners run on the event executor, after the commit only.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "school.events.async.enabled=true")
+public class SchoolEventDispatchTests {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Autowired
+    private SchoolCreateListener schoolCreateListener;
+
+    @Autowired
+    private SchoolUpdateListener schoolUpdateListener;
+
+    @Autowired
+    private SchoolDeleteListener schoolDeleteListener;
+
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        recordingListener.getDelivered().clear();
+    }
+
+    @Test
+    public void testSchoolListenersAreAsync() {
+        assertTrue(AopUtils.isAopProxy(schoolCreateListener));
+        assertTrue(AopUtils.isAopProxy(schoolUpdateListener));
+        assertTrue(AopUtils.isAopProxy(schoolDeleteListener));
+    }
+
+    @Test
+    public void testDeliveredAfterCommitOnEventExecutor() throws Exception {
+        transactionTemplate.execute(status -> {
+            publisher.publishEvent(new DispatchedEvent("committed"));
+
+            assertTrue(recordingListener.getDelivered().isEmpty());
+            return null;
+        });
+
+        String delivery = recordingListener.getDelivered().poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(delivery);
+        assertTrue(delivery.startsWith("committed school-event-"));
+    }
+
+    @Test
+    public void testSkippedOnRollback() throws Exception {
+        transactionTemplate.execute(status -> {
+            publisher.publishEvent(new DispatchedEvent("rolled back"));
+
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertNull(recordingListener.getDelivered().poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfiguration {
+
+        @Bean
+        public RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener {
+
+        private final BlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+
+        @Async(EventDispatchConfiguration.SCHOOL_EVENT_EXECUTOR)
+        @TransactionalEventListener(fallbackExecution = true, condition = EventDispatchConfiguration.IN_MEMORY_DELIVERY)
+        public void handleEvent(DispatchedEvent dispatchedEvent) {
+            delivered.add(dispatchedEvent.getName() + " " + Thread.currentThread().getName());
+        }
+
+        // read through the async proxy, its own fields are not the ones of the listener
+        public BlockingQueue<String> getDelivered() {
+            return delivered;
+        }
+    }
+
+    @Value
+    static class DispatchedEvent {
+
+        private String name;
+    }
+}
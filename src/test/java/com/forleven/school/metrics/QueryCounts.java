@@ -0,0 +1,40 @@
+package com.forleven.school.metrics;
+
+import java.util.function.Supplier;
+
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Assertions on the statements executed by the current thread, counted by the DataSource proxy.
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static <T> T assertStatementsAtMost(int maxStatements, Supplier<T> action) {
+        QueryCountHolder.clear();
+
+        T result = action.get();
+
+        long statements = QueryCountHolder.getGrandTotal().getTotal();
+        assertTrue(String.format("Expected at most %d statements, %d executed", maxStatements, statements),
+                statements <= maxStatements);
+
+        return result;
+    }
+
+    public static <T> T assertSelectsAtMost(int maxSelects, Supplier<T> action) {
+        QueryCountHolder.clear();
+
+        T result = action.get();
+
+        long selects = QueryCountHolder.getGrandTotal().getSelect();
+        assertTrue(String.format("Expected at most %d selects, %d executed", maxSelects, selects),
+                selects <= maxSelects);
+
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package com.forleven.school.outbox;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.forleven.school.configuration.SchoolEventProperties;
+import com.forleven.school.model.SchoolOutboxEvent;
+import com.forleven.school.repository.SchoolOutboxRepository;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchoolOutboxRelayTests {
+
+    @Spy
+    private SchoolEventProperties schoolEventProperties = new SchoolEventProperties();
+
+    @Spy
+    private InMemorySchoolOutboxSink schoolOutboxSink = new InMemorySchoolOutboxSink();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private SchoolOutboxRepository schoolOutboxRepository;
+
+    @InjectMocks
+    private SchoolOutboxRelay schoolOutboxRelay;
+
+    @Before
+    public void setUp() {
+        schoolEventProperties.getOutbox().setBatchSize(2);
+    }
+
+    @Test
+    public void testRelayDrainsOutboxInBatches() {
+        List<SchoolOutboxEvent> firstBatch = Arrays.asList(outboxEvent(1L), outboxEvent(2L));
+        List<SchoolOutboxEvent> secondBatch = Collections.singletonList(outboxEvent(3L));
+
+        when(schoolOutboxRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(firstBatch)
+                .thenReturn(secondBatch);
+
+        schoolOutboxRelay.relay();
+
+        assertEquals(
+                3,
+                schoolOutboxSink.getDelivered().size()
+        );
+
+        verify(schoolOutboxRepository, times(1)).deleteInBatch(firstBatch);
+        verify(schoolOutboxRepository, times(1)).deleteInBatch(secondBatch);
+    }
+
+    @Test
+    public void testRelayKeepsBatchWhenSinkFails() {
+        List<SchoolOutboxEvent> batch = Collections.singletonList(outboxEvent(1L));
+
+        when(schoolOutboxRepository.findAllByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(batch);
+
+        SchoolOutboxSink failingSink = events -> {
+            throw new IllegalStateException("sink down");
+        };
+
+        SchoolOutboxRelay relay = new SchoolOutboxRelay();
+        ReflectionTestUtils.setField(relay, "schoolEventProperties", schoolEventProperties);
+        ReflectionTestUtils.setField(relay, "schoolOutboxRepository", schoolOutboxRepository);
+        ReflectionTestUtils.setField(relay, "schoolOutboxSink", failingSink);
+        ReflectionTestUtils.setField(relay, "meterRegistry", meterRegistry);
+
+        try {
+            relay.relay();
+            fail("Sink failure must be propagated");
+        } catch (IllegalStateException e) {
+            verify(schoolOutboxRepository, never()).deleteInBatch(anyList());
+        }
+    }
+
+    private SchoolOutboxEvent outboxEvent(Long id) {
+        return SchoolOutboxEvent.builder()
+                .id(id)
+                .schoolId(id)
+                .type(SchoolOutboxEvent.Type.CREATED)
+                .payload("{}")
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.forleven.school.outbox;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.forleven.school.event.SchoolBatchCreationEvent;
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolOutboxEvent;
+import com.forleven.school.repository.SchoolOutboxRepository;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchoolOutboxWriterTests {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private SchoolOutboxRepository schoolOutboxRepository;
+
+    @InjectMocks
+    private SchoolOutboxWriter schoolOutboxWriter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchCreationWrittenAsBatchRows() throws Exception {
+        List<School> schools = LongStream.rangeClosed(1, 200)
+                .mapToObj(id -> School.builder().id(id).name("batch school " + id).build())
+                .collect(Collectors.toList());
+
+        schoolOutboxWriter.handleEvent(new SchoolBatchCreationEvent(schools));
+
+        ArgumentCaptor<List<SchoolOutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(schoolOutboxRepository).saveAll(captor.capture());
+
+        List<SchoolOutboxEvent> outboxEvents = captor.getValue();
+
+        assertTrue(outboxEvents.size() > 1);
+        assertTrue(outboxEvents.size() < schools.size());
+
+        long relayed = 0;
+        for (SchoolOutboxEvent outboxEvent : outboxEvents) {
+            assertEquals(SchoolOutboxEvent.Type.BATCH_CREATED, outboxEvent.getType());
+            assertTrue(outboxEvent.getPayload().length() <= SchoolOutboxEvent.PAYLOAD_LENGTH);
+
+            List<School> batch = objectMapper.readValue(outboxEvent.getPayload(), new TypeReference<List<School>>() { });
+
+            assertEquals(batch.get(0).getId(), outboxEvent.getSchoolId());
+            assertEquals(relayed + 1, (long) batch.get(0).getId());
+
+            relayed += batch.size();
+        }
+
+        assertEquals(schools.size(), relayed);
+    }
+}
@@ -0,0 +1,60 @@
+package com.forleven.school.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.forleven.school.form.SchoolForm;
+import com.forleven.school.model.School;
+import com.forleven.school.service.SchoolService;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SchoolArchiveTests {
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testArchiveDeleted() {
+        School active = schoolService.saveSchool(SchoolForm.builder().name("active school").build()).get();
+        School deleted = schoolService.saveSchool(SchoolForm.builder().name("deleted school").build()).get();
+        schoolService.deleteSchool(deleted.getId());
+
+        List<Long> archivedIds = schoolRepository.archiveDeleted(LocalDateTime.now().plusMinutes(1), 1000);
+
+        assertTrue(archivedIds.contains(deleted.getId()));
+        assertFalse(archivedIds.contains(active.getId()));
+
+        assertFalse(schoolRepository.findById(deleted.getId()).isPresent());
+        assertTrue(schoolRepository.findById(active.getId()).isPresent());
+
+        assertEquals(Integer.valueOf(1), jdbcTemplate.queryForObject(
+                "select count(*) from school_archive where id_school = ?", Integer.class, deleted.getId()));
+    }
+
+    @Test
+    public void testArchiveDeletedKeepsRecentDeletions() {
+        School deleted = schoolService.saveSchool(SchoolForm.builder().name("recently deleted school").build()).get();
+        schoolService.deleteSchool(deleted.getId());
+
+        List<Long> archivedIds = schoolRepository.archiveDeleted(LocalDateTime.now().minusDays(30), 1000);
+
+        assertFalse(archivedIds.contains(deleted.getId()));
+        assertTrue(schoolRepository.findById(deleted.getId()).isPresent());
+    }
+}
@@ -0,0 +1,52 @@
+package com.forleven.school.repository;
+
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.forleven.school.form.SchoolForm;
+import com.forleven.school.model.School;
+import com.forleven.school.model.SchoolChange;
+import com.forleven.school.service.SchoolService;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SchoolChangesTests {
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Test
+    public void testFindChangedAfter() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        School deleted = schoolService.saveSchool(SchoolForm.builder().name("changed school").build()).get();
+        schoolService.deleteSchool(deleted.getId());
+
+        Slice<SchoolChange> changes = schoolRepository.findChangedAfter(since, 0L,
+                LocalDateTime.now().plusMinutes(1), 1000);
+
+        assertTrue(changes.getContent().stream()
+                .anyMatch(change -> change.getId().equals(deleted.getId()) && change.isDeleted()));
+    }
+
+    @Test
+    public void testFindChangedAfterSkipsChangesAfterUntil() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        LocalDateTime until = LocalDateTime.now().minusSeconds(30);
+        School recent = schoolService.saveSchool(SchoolForm.builder().name("recent school").build()).get();
+
+        Slice<SchoolChange> changes = schoolRepository.findChangedAfter(since, 0L, until, 1000);
+
+        assertTrue(changes.getContent().stream().noneMatch(change -> change.getId().equals(recent.getId())));
+    }
+}
@@ -0,0 +1,58 @@
+package com.forleven.school.search;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SchoolNameIndexTests {
+
+    private SchoolNameIndex schoolNameIndex;
+
+    @Before
+    public void setUp() {
+        schoolNameIndex = new SchoolNameIndex();
+        schoolNameIndex.index(1L, "Escola Estadual São Paulo");
+        schoolNameIndex.index(2L, "Colégio Santa Maria");
+        schoolNameIndex.index(3L, "Escola Municipal Santos Dumont");
+    }
+
+    @Test
+    public void testSearchByPrefix() {
+        List<SchoolMatch> matches = schoolNameIndex.search("esc");
+
+        assertEquals(2, matches.size());
+        assertTrue(matches.stream().allMatch(match -> match.getName().startsWith("Escola")));
+    }
+
+    @Test
+    public void testSearchIgnoresAccents() {
+        List<SchoolMatch> matches = schoolNameIndex.search("colegio");
+
+        assertEquals(1, matches.size());
+        assertEquals(Long.valueOf(2L), matches.get(0).getSchoolId());
+    }
+
+    @Test
+    public void testSearchWithTypo() {
+        List<SchoolMatch> matches = schoolNameIndex.search("santa maira");
+
+        assertFalse(matches.isEmpty());
+        assertEquals(Long.valueOf(2L), matches.get(0).getSchoolId());
+    }
+
+    @Test
+    public void testReindexAndRemove() {
+        schoolNameIndex.index(2L, "Instituto Federal");
+
+        assertTrue(schoolNameIndex.search("colegio").isEmpty());
+        assertEquals(Long.valueOf(2L), schoolNameIndex.search("instituto").get(0).getSchoolId());
+
+        schoolNameIndex.remove(2L);
+
+        assertTrue(schoolNameIndex.search("instituto").isEmpty());
+        assertEquals(2, schoolNameIndex.size());
+    }
+}
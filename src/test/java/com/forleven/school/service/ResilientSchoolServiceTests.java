@@ -0,0 +1,108 @@
+package com.forleven.school.service;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.forleven.school.configuration.CacheConfiguration;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ResilientSchoolServiceTests {
+
+    // longer than hystrix.command.schoolRead timeout
+    private static final long SLOW_QUERY_MILLIS = 3000;
+
+    @MockBean
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private ResilientSchoolService resilientSchoolService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Before
+    public void setUp() {
+        cacheManager.getCache(CacheConfiguration.SCHOOL_CACHE).clear();
+    }
+
+    @Test
+    public void testGetSchool() {
+        School expectedSchool = School.builder().id(1L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool));
+
+        Optional<SchoolRead> schoolRead = resilientSchoolService.getSchool(1L);
+
+        assertTrue(schoolRead.isPresent());
+        assertEquals(SchoolRead.Source.DATABASE, schoolRead.get().getSource());
+        assertEquals(expectedSchool, schoolRead.get().getSchool());
+    }
+
+    @Test
+    public void testObserveSchool() {
+        School expectedSchool = School.builder().id(3L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool));
+
+        Optional<SchoolRead> schoolRead = resilientSchoolService.observeSchool(3L).block();
+
+        assertNotNull(schoolRead);
+        assertTrue(schoolRead.isPresent());
+        assertEquals(SchoolRead.Source.DATABASE, schoolRead.get().getSource());
+        assertEquals(expectedSchool, schoolRead.get().getSchool());
+    }
+
+    @Test
+    public void testSlowRepositoryServesStaleSchool() {
+        School expectedSchool = School.builder().id(2L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool))
+                .then(invocation -> {
+                    Thread.sleep(SLOW_QUERY_MILLIS);
+                    return Optional.of(expectedSchool);
+                });
+
+        resilientSchoolService.getSchool(2L);
+        cacheManager.getCache(CacheConfiguration.SCHOOL_CACHE).clear();
+
+        Optional<SchoolRead> schoolRead = resilientSchoolService.getSchool(2L);
+
+        assertTrue(schoolRead.isPresent());
+        assertTrue(schoolRead.get().isStale());
+        assertEquals(expectedSchool, schoolRead.get().getSchool());
+    }
+
+    @Test
+    public void testSlowRepositoryWithoutStaleSchool() {
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .then(invocation -> {
+                    Thread.sleep(SLOW_QUERY_MILLIS);
+                    return Optional.empty();
+                });
+
+        Optional<SchoolRead> schoolRead = resilientSchoolService.getSchool(3L);
+
+        assertTrue(schoolRead.isPresent());
+        assertFalse(schoolRead.get().isAvailable());
+    }
+}
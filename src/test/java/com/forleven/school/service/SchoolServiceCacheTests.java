@@ -0,0 +1,114 @@
+package com.forleven.school.service;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.forleven.common.event.UpdatingEvent;
+import com.forleven.school.configuration.CacheConfiguration;
+import com.forleven.school.model.School;
+import com.forleven.school.repository.SchoolRepository;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SchoolServiceCacheTests {
+
+    @MockBean
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Before
+    public void setUp() {
+        cacheManager.getCache(CacheConfiguration.SCHOOL_CACHE).clear();
+    }
+
+    @Test
+    public void testGetSchoolIsCached() {
+        School expectedSchool = School.builder().id(1L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool));
+
+        schoolService.getSchool(1L);
+        Optional<School> schoolNullable = schoolService.getSchool(1L);
+
+        assertTrue(schoolNullable.isPresent());
+
+        assertEquals(
+                expectedSchool,
+                schoolNullable.get()
+        );
+
+        verify(schoolRepository, times(1)).findOne(ArgumentMatchers.<Specification<School>>any());
+    }
+
+    @Test
+    public void testGetSchoolNotFoundIsNotCached() {
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.empty());
+
+        schoolService.getSchool(1L);
+        Optional<School> schoolNullable = schoolService.getSchool(1L);
+
+        assertFalse(schoolNullable.isPresent());
+
+        verify(schoolRepository, times(2)).findOne(ArgumentMatchers.<Specification<School>>any());
+    }
+
+    @Test
+    public void testUpdatingEventEvictsSchool() {
+        School expectedSchool = School.builder().id(1L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool));
+
+        schoolService.getSchool(1L);
+
+        publisher.publishEvent(new UpdatingEvent<>(expectedSchool));
+
+        schoolService.getSchool(1L);
+
+        verify(schoolRepository, times(2)).findOne(ArgumentMatchers.<Specification<School>>any());
+    }
+
+    @Test
+    public void testDeleteSchoolEvictsSchool() {
+        School expectedSchool = School.builder().id(1L).build();
+
+        when(schoolRepository.findOne(ArgumentMatchers.<Specification<School>>any()))
+                .thenReturn(Optional.of(expectedSchool));
+        // the deletion event carries the saved school, the listeners read its id
+        when(schoolRepository.save(any(School.class)))
+                .then(invocation -> invocation.getArgument(0));
+
+        schoolService.getSchool(1L);
+        schoolService.deleteSchool(1L);
+
+        assertNull(cacheManager.getCache(CacheConfiguration.SCHOOL_CACHE).get(1L));
+    }
+}
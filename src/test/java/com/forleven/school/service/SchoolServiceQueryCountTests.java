@@ -0,0 +1,53 @@
+package com.forleven.school.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.forleven.school.form.SchoolForm;
+import com.forleven.school.model.School;
+
+import static com.forleven.school.metrics.QueryCounts.assertSelectsAtMost;
+import static com.forleven.school.metrics.QueryCounts.assertStatementsAtMost;
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SchoolServiceQueryCountTests {
+
+    @Autowired
+    private SchoolService schoolService;
+
+    private School school;
+
+    @Before
+    public void setUp() {
+        school = schoolService.saveSchool(SchoolForm.builder().name("counted school").build()).get();
+    }
+
+    @Test
+    public void testUpdateSchoolStatements() {
+        School schoolToUpdate = School.builder()
+                .id(school.getId())
+                .name("counted school updated")
+                .build();
+
+        // select + update, the merge of the loaded school doesn't select again
+        assertTrue(assertStatementsAtMost(2, () -> schoolService.updateSchool(schoolToUpdate)).isRight());
+    }
+
+    @Test
+    public void testDeleteSchoolStatements() {
+        assertFalse(assertStatementsAtMost(2, () -> schoolService.deleteSchool(school.getId())).isPresent());
+    }
+
+    @Test
+    public void testGetSchoolsStatements() {
+        // page only: the total comes from the school counters, no count and no select by school
+        assertSelectsAtMost(1, () -> schoolService.getSchools(PageRequest.of(0, 20)));
+    }
+}
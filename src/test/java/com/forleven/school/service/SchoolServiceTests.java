@@ -1,7 +1,13 @@
 package com.forleven.school.service;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import io.vavr.control.Either;
 
@@ -15,20 +21,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.forleven.common.event.CreationEvent;
 import com.forleven.common.event.UpdatingEvent;
 import com.forleven.common.exception.HttpException;
 import com.forleven.common.exception.NotFoundException;
+import com.forleven.school.aggregate.SchoolAggregates;
+import com.forleven.school.aggregate.SchoolCounters;
+import com.forleven.school.event.SchoolBatchCreationEvent;
 import com.forleven.school.form.SchoolForm;
 import com.forleven.school.model.School;
 import com.forleven.school.repository.SchoolRepository;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +56,12 @@ public class SchoolServiceTests {
     @Mock
     private SchoolRepository schoolRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SchoolCounters schoolCounters;
+
     @Autowired
     @InjectMocks
     private SchoolService schoolService;
@@ -76,6 +96,88 @@ public class SchoolServiceTests {
         assertFalse(schoolNullable.isPresent());
     }
 
+    @Test
+    public void testGetSchoolsWithCounters() {
+
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(schoolCounters.getTotal())
+                .thenReturn(Optional.of(41L));
+        when(schoolRepository.findAllBy(pageable))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(School.builder().build()), pageable, true));
+
+        Optional<Page<School>> schoolNullable = schoolService.getSchools(pageable);
+
+        assertTrue(schoolNullable.isPresent());
+        assertEquals(41L, schoolNullable.get().getTotalElements());
+
+        verify(schoolRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    public void testGetSchoolsBeforeCountersReconciled() {
+
+        Pageable pageable = PageRequest.of(0, 1);
+        Page<School> expectedSchool = new PageImpl<>(Collections.singletonList(School.builder().build()));
+
+        when(schoolCounters.getTotal())
+                .thenReturn(Optional.empty());
+        when(schoolRepository.findAll(pageable))
+                .thenReturn(expectedSchool);
+
+        Optional<Page<School>> schoolNullable = schoolService.getSchools(pageable);
+
+        assertTrue(schoolNullable.isPresent());
+        assertEquals(expectedSchool, schoolNullable.get());
+    }
+
+    @Test
+    public void testGetAggregatesWithCounters() {
+
+        SchoolAggregates expectedAggregates = new SchoolAggregates(41L, 40L, null, null);
+
+        when(schoolCounters.getAggregates())
+                .thenReturn(Optional.of(expectedAggregates));
+
+        assertEquals(expectedAggregates, schoolService.getAggregates());
+        assertEquals(1L, schoolService.getAggregates().getDeleted());
+
+        verify(schoolRepository, never()).count();
+    }
+
+    @Test
+    public void testGetSchoolsAfter() {
+
+        Slice<School> expectedSchools = new SliceImpl<>(
+                Collections.singletonList(School.builder().id(2L).build()),
+                PageRequest.of(0, 1),
+                true
+        );
+
+        when(schoolRepository.findAllAfter(ArgumentMatchers.<Specification<School>>any(), eq(1L), eq(1)))
+                .thenReturn(expectedSchools);
+
+        Optional<Slice<School>> schoolsNullable = schoolService.getSchools(null, 1L, 1);
+
+        assertTrue(schoolsNullable.isPresent());
+
+        assertEquals(
+                expectedSchools,
+                schoolsNullable.get()
+        );
+    }
+
+    @Test
+    public void testGetSchoolsAfterNotFound() {
+
+        when(schoolRepository.findAllAfter(ArgumentMatchers.<Specification<School>>any(), eq(1L), eq(1)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        Optional<Slice<School>> schoolsNullable = schoolService.getSchools(null, 1L, 1);
+
+        assertFalse(schoolsNullable.isPresent());
+    }
+
     @Test
     public void testGetSchool() {
         School expectedSchool = School.builder().build();
@@ -109,6 +211,27 @@ public class SchoolServiceTests {
         );
     }
 
+    @Test
+    public void testExportSchools() {
+        School firstSchool = School.builder().id(1L).build();
+        School secondSchool = School.builder().id(2L).build();
+
+        when(schoolRepository.streamAllActive())
+                .thenReturn(Stream.of(firstSchool, secondSchool));
+
+        List<School> exported = new ArrayList<>();
+
+        schoolService.exportSchools(exported::add);
+
+        assertEquals(
+                Arrays.asList(firstSchool, secondSchool),
+                exported
+        );
+
+        verify(entityManager, times(1)).detach(firstSchool);
+        verify(entityManager, times(1)).detach(secondSchool);
+    }
+
     @Test
     public void testSaveSchool() {
 
@@ -127,6 +250,30 @@ public class SchoolServiceTests {
         verify(publisher, times(1)).publishEvent(ArgumentMatchers.<CreationEvent<School>>any());
     }
 
+    @Test
+    public void testSaveSchools() {
+
+        when(schoolRepository.saveAllInBatches(anyList()))
+                .then(invocation -> invocation.getArgument(0));
+
+        List<SchoolForm> schoolForms = Arrays.asList(
+                SchoolForm.builder().name("first school").build(),
+                SchoolForm.builder().name("second school").build()
+        );
+
+        Either<HttpException, List<School>> schools = schoolService.saveSchools(schoolForms);
+
+        assertTrue(schools.isRight());
+
+        assertEquals(
+                2,
+                schools.get().size()
+        );
+
+        verify(schoolRepository, times(1)).saveAllInBatches(anyList());
+        verify(publisher, times(1)).publishEvent(any(SchoolBatchCreationEvent.class));
+    }
+
     @Test
     public void testUpdateSchool() {
         School expectedSchool = School.builder().build();
@@ -0,0 +1,59 @@
+package com.forleven.school.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vavr.control.Either;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.forleven.school.model.School;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchoolUpdateCoalescerTests {
+
+    @Mock
+    private SchoolService schoolService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SchoolUpdateCoalescer schoolUpdateCoalescer;
+
+    @Test
+    public void testFlushAppliesLastUpdateOfEachSchool() {
+
+        when(schoolService.updateSchool(any(School.class)))
+                .then(invocation -> Either.right(invocation.getArgument(0)));
+
+        schoolUpdateCoalescer.submit(School.builder().id(1L).name("first name").build());
+        schoolUpdateCoalescer.submit(School.builder().id(1L).name("last name").build());
+        schoolUpdateCoalescer.submit(School.builder().id(2L).name("other school").build());
+
+        assertEquals(2, schoolUpdateCoalescer.pending());
+
+        schoolUpdateCoalescer.flush();
+
+        ArgumentCaptor<School> updates = ArgumentCaptor.forClass(School.class);
+        verify(schoolService, times(2)).updateSchool(updates.capture());
+
+        assertTrue(updates.getAllValues().stream()
+                .anyMatch(school -> school.getId().equals(1L) && school.getName().equals("last name")));
+        assertTrue(updates.getAllValues().stream()
+                .noneMatch(school -> school.getName().equals("first name")));
+
+        assertEquals(0, schoolUpdateCoalescer.pending());
+    }
+}
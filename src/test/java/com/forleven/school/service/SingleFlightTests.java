@@ -0,0 +1,107 @@
+package com.forleven.school.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "school 1";
+            })));
+        }
+
+        // the first call holds until all the others joined it
+        waitShared(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("school 1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testExceptionIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw new IllegalStateException("database down");
+            })));
+        }
+
+        waitShared(1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+                fail("exception expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test
+    public void testSequentialCallsExecuteAgain() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "school " + executions.incrementAndGet());
+        String result = singleFlight.execute(1L, () -> "school " + executions.incrementAndGet());
+
+        assertEquals("school 2", result);
+        assertEquals(0, singleFlight.getShared());
+    }
+
+    private void waitShared(int shared) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (singleFlight.getShared() < shared && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(shared, singleFlight.getShared());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.forleven.school.web;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CursorTests {
+
+    @Test
+    public void testEncodeAndDecode() {
+        String cursor = Cursor.encode(42L);
+
+        assertEquals(
+                Optional.of(42L),
+                Cursor.decode(cursor)
+        );
+    }
+
+    @Test
+    public void testDecodeEmptyCursor() {
+        assertFalse(Cursor.decode("").isPresent());
+        assertFalse(Cursor.decode(null).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeInvalidCursor() {
+        Cursor.decode("not a cursor");
+    }
+}
@@ -0,0 +1,40 @@
+package com.forleven.school.web;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.springframework.data.domain.PageImpl;
+
+import com.forleven.school.model.School;
+
+import static org.junit.Assert.*;
+
+public class SchoolETagsTests {
+
+    @Test
+    public void testETagOfSchool() {
+        School school = School.builder().id(1L).version(3L).build();
+
+        assertEquals("\"1-3\"", SchoolETags.of(school));
+        assertEquals(Optional.of(3L), SchoolETags.versionOf(SchoolETags.of(school), 1L));
+    }
+
+    @Test
+    public void testVersionOfETagFromOtherSchool() {
+        assertFalse(SchoolETags.versionOf("\"2-3\"", 1L).isPresent());
+        assertFalse(SchoolETags.versionOf("W/\"1-3\"", 1L).isPresent());
+        assertFalse(SchoolETags.versionOf("\"1-x\"", 1L).isPresent());
+    }
+
+    @Test
+    public void testETagOfPageChangesWithVersion() {
+        String eTag = SchoolETags.of(new PageImpl<>(
+                Collections.singletonList(School.builder().id(1L).version(1L).build())));
+
+        String changedETag = SchoolETags.of(new PageImpl<>(
+                Collections.singletonList(School.builder().id(1L).version(2L).build())));
+
+        assertNotEquals(eTag, changedETag);
+    }
+}